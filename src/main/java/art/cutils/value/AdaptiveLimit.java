@@ -0,0 +1,330 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An {@link AdaptiveLimit} bounds the number of tasks running at once, like {@link
+ * Syndicate#maxInFlight(int)} does, but moves the bound with the latency of the tasks, so that it
+ * stays high while the dependency they call keeps up and backs off as soon as it slows down. Attach
+ * it with {@link Syndicate#limit(AdaptiveLimit)}; several Syndicates calling the same dependency
+ * should share one limit.
+ *
+ * <p>Two algorithms are offered:
+ *
+ * <ul>
+ *   <li>{@link #aimd(int, Duration)}, additive increase, multiplicative decrease: the limit grows by
+ *       one per limit's worth of tasks faster than the latency threshold, and shrinks by the backoff
+ *       ratio when tasks are slower;
+ *   <li>{@link #gradient(int)}: the limit follows the ratio between the long-term and the latest
+ *       latency, plus a headroom of its square root, so it shrinks when tasks queue up in the
+ *       dependency and needs no threshold.
+ * </ul>
+ *
+ * <p>With either, a task failing with a {@link TimeoutException} or a {@link
+ * RejectedExecutionException} shrinks the limit by the backoff ratio, and the limit only grows
+ * while at least half of it is in use. The limit backs off at most once per limit's worth of tasks,
+ * about one round trip, since the tasks which were already running when it did report the same
+ * overload.
+ *
+ * <pre>{@code
+ * final AdaptiveLimit inventory = AdaptiveLimit.gradient(20).bounds(4, 200);
+ * try (final Syndicate<Stock> syndicate = Syndicate.<Stock>init().limit(inventory)) {
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>The limit is guarded by its own monitor, so {@link #bounds(int, int)} and {@link
+ * #backoffRatio(double)} may also be called while Syndicates are running tasks under it.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class AdaptiveLimit {
+
+  /** Weight of a sample in the long-term latency of the gradient algorithm. */
+  private static final double LONG_TERM_WEIGHT = 0.01;
+
+  /** Latency of the gradient algorithm allowed above the long-term one without backing off. */
+  private static final double TOLERANCE = 1.5;
+
+  /** Weight of a new limit of the gradient algorithm against the current one. */
+  private static final double SMOOTHING = 0.2;
+
+  /** Latency above which a task counts as slow for AIMD, in nanoseconds; 0 for gradient. */
+  private final long thresholdNanos;
+
+  /** The current limit, fractional so small increases add up. Guarded by {@code this}. */
+  private double limit;
+
+  /** Long-term latency of the gradient algorithm, in nanoseconds. Guarded by {@code this}. */
+  private double longTermNanos;
+
+  /** Number of tasks holding a permit. Guarded by {@code this}. */
+  private int inFlight;
+
+  /** Number of tasks which completed under the limit. Guarded by {@code this}. */
+  private long samples;
+
+  /** Number of samples from which the limit may back off again. Guarded by {@code this}. */
+  private long nextBackoff;
+
+  private int minLimit = 1;
+
+  private int maxLimit = 1000;
+
+  /** Factor applied to the limit when backing off. */
+  private double backoffRatio = 0.9;
+
+  /**
+   * Sealed.
+   *
+   * @param initialLimit the limit to start from
+   * @param thresholdNanos latency threshold of AIMD, 0 for gradient
+   */
+  @Contract(pure = true)
+  private AdaptiveLimit(final int initialLimit, final long thresholdNanos) {
+    this.limit = this.bounded(initialLimit);
+    this.thresholdNanos = thresholdNanos;
+  }
+
+  /**
+   * Creates a limit adjusted by additive increase and multiplicative decrease.
+   *
+   * @param initialLimit the limit to start from, brought within the bounds
+   * @param latencyThreshold tasks running longer count as a sign of overload
+   * @return new instance of {@link AdaptiveLimit}
+   * @throws IllegalArgumentException if {@code initialLimit} is less than 1 or the threshold is not
+   *     positive
+   */
+  @Contract("_, _ -> new")
+  public static @NotNull AdaptiveLimit aimd(
+      final int initialLimit, final Duration latencyThreshold) {
+    Objects.requireNonNull(latencyThreshold, "latencyThreshold cannot be null");
+    if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+      throw new IllegalArgumentException("latencyThreshold must be positive");
+    }
+    return new AdaptiveLimit(AdaptiveLimit.checked(initialLimit), latencyThreshold.toNanos());
+  }
+
+  /**
+   * Creates a limit adjusted by the gradient of the latency.
+   *
+   * @param initialLimit the limit to start from, brought within the bounds
+   * @return new instance of {@link AdaptiveLimit}
+   * @throws IllegalArgumentException if {@code initialLimit} is less than 1
+   */
+  @Contract("_ -> new")
+  public static @NotNull AdaptiveLimit gradient(final int initialLimit) {
+    return new AdaptiveLimit(AdaptiveLimit.checked(initialLimit), 0L);
+  }
+
+  private static int checked(final int initialLimit) {
+    if (initialLimit < 1) {
+      throw new IllegalArgumentException("initialLimit must be at least 1");
+    }
+    return initialLimit;
+  }
+
+  /**
+   * Use to bound the limit, 1 to 1000 by default. The current limit is brought within the bounds.
+   *
+   * @param minLimit the lowest limit
+   * @param maxLimit the highest limit
+   * @return current instance of {@link AdaptiveLimit}
+   */
+  @Contract(value = "_, _ -> this", mutates = "this")
+  public synchronized AdaptiveLimit bounds(final int minLimit, final int maxLimit) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("minLimit must be at least 1 and at most maxLimit");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = this.bounded(this.limit);
+    return this;
+  }
+
+  /**
+   * Use to set how sharply the limit backs off, 0.9 by default.
+   *
+   * @param backoffRatio factor applied to the limit when backing off, between 0 and 1 excluded
+   * @return current instance of {@link AdaptiveLimit}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public synchronized AdaptiveLimit backoffRatio(final double backoffRatio) {
+    if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+      throw new IllegalArgumentException("backoffRatio must be between 0 and 1 excluded");
+    }
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return the maximum number of tasks allowed to run at once now
+   */
+  public synchronized int getLimit() {
+    return (int) this.limit;
+  }
+
+  /**
+   * Returns the number of tasks running under the limit.
+   *
+   * @return the number of tasks holding a permit
+   */
+  public synchronized int getInFlight() {
+    return this.inFlight;
+  }
+
+  /**
+   * Takes a permit if the limit allows another task now.
+   *
+   * @return {@code true} if a permit was taken
+   */
+  synchronized boolean tryAcquire() {
+    if (this.inFlight < (int) this.limit) {
+      this.inFlight++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Waits for a permit.
+   *
+   * @param timed whether to give up at the {@code deadline}
+   * @param deadline {@link System#nanoTime()} to give up at, if {@code timed}
+   * @return {@code true} if a permit was taken, {@code false} if the deadline passed
+   * @throws InterruptedException if interrupted while waiting
+   */
+  synchronized boolean acquire(final boolean timed, final long deadline)
+      throws InterruptedException {
+    while (!this.tryAcquire()) {
+      if (!timed) {
+        this.wait();
+        continue;
+      }
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0L) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    return true;
+  }
+
+  /** Gives a permit back without adjusting the limit, for a task which did not complete. */
+  synchronized void release() {
+    this.inFlight--;
+    this.notifyAll();
+  }
+
+  /**
+   * Gives a permit back and adjusts the limit with the outcome of the task.
+   *
+   * @param latencyNanos the execution time of the task
+   * @param failure the cause of the failure of the task, {@code null} if it succeeded
+   */
+  synchronized void release(final long latencyNanos, final Throwable failure) {
+    final boolean dropped =
+        failure instanceof TimeoutException || failure instanceof RejectedExecutionException;
+    final boolean saturated = this.inFlight * 2 >= (int) this.limit;
+    this.samples++;
+    if (dropped) {
+      this.backoff();
+    } else if (this.thresholdNanos > 0L) {
+      this.aimd(latencyNanos, saturated);
+    } else {
+      this.gradient(latencyNanos, saturated);
+    }
+    this.release();
+  }
+
+  private void aimd(final long latencyNanos, final boolean saturated) {
+    if (latencyNanos > this.thresholdNanos) {
+      this.backoff();
+    } else if (saturated) {
+      this.limit = this.bounded(this.limit + 1.0 / this.limit);
+    }
+  }
+
+  /** Shrinks the limit by the backoff ratio, unless it did less than a limit's worth of tasks ago. */
+  private void backoff() {
+    if (this.samples >= this.nextBackoff) {
+      this.nextBackoff = this.samples + (int) this.limit;
+      this.limit = this.bounded(this.limit * this.backoffRatio);
+    }
+  }
+
+  private void gradient(final long latencyNanos, final boolean saturated) {
+    final double latency = Math.max(1L, latencyNanos);
+    if (this.longTermNanos == 0.0) {
+      this.longTermNanos = latency;
+    } else {
+      this.longTermNanos += (latency - this.longTermNanos) * AdaptiveLimit.LONG_TERM_WEIGHT;
+      if (this.longTermNanos > 2.0 * latency) {
+        // recover quickly once a slow period is over
+        this.longTermNanos *= 0.95;
+      }
+    }
+    if (!saturated && latency <= this.longTermNanos) {
+      return;
+    }
+    final double gradient =
+        Math.max(0.5, Math.min(1.0, AdaptiveLimit.TOLERANCE * this.longTermNanos / latency));
+    final double target = this.limit * gradient + Math.sqrt(this.limit);
+    this.limit =
+        this.bounded(
+            this.limit * (1.0 - AdaptiveLimit.SMOOTHING) + target * AdaptiveLimit.SMOOTHING);
+  }
+
+  private double bounded(final double value) {
+    return Math.max(this.minLimit, Math.min(this.maxLimit, value));
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "AdaptiveLimit{"
+        + "algorithm="
+        + (this.thresholdNanos > 0L ? "aimd" : "gradient")
+        + ", limit="
+        + this.getLimit()
+        + ", inFlight="
+        + this.inFlight
+        + ", minLimit="
+        + this.minLimit
+        + ", maxLimit="
+        + this.maxLimit
+        + '}';
+  }
+}
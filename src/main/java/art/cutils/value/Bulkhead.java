@@ -0,0 +1,245 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import art.cutils.function.Dealer;
+import art.cutils.function.Executable;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Bulkhead} limits the number of concurrent calls to a dependency, so a slow dependency
+ * can't take every thread of the process. Operations are tried like {@link Try#of(Dealer)} does
+ * once a permit is taken; when none is available within the maximum wait, the call is rejected
+ * with a {@link RejectedExecutionException} failure, without running the operation.
+ *
+ * <pre>{@code
+ * final Bulkhead inventory = Bulkhead.of(20).maxWait(Duration.ofMillis(5));
+ * final Try<Stock> stock = inventory.call(() -> client.stock(item));
+ * }</pre>
+ *
+ * <p>Every caller of a dependency should go through the same bulkhead, since the permits are per
+ * instance. The maximum wait is read without synchronization, so set it before handing the
+ * bulkhead to other threads.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class Bulkhead {
+
+  /** Maximum number of concurrent calls. */
+  private final int maxConcurrentCalls;
+
+  /** Permits of the calls in progress. */
+  private final Semaphore permits;
+
+  /** Shared failure returned for every rejected call. */
+  private final Try<?> rejected = Try.failure(new RejectedExecutionException("Bulkhead is full"));
+
+  /** Number of permitted calls. */
+  private final LongAdder accepted = new LongAdder();
+
+  /** Number of rejected calls. */
+  private final LongAdder rejections = new LongAdder();
+
+  /** Time to wait for a permit, in nanoseconds; 0 rejects immediately. */
+  private long maxWaitNanos = 0L;
+
+  /**
+   * Sealed.
+   *
+   * @param maxConcurrentCalls maximum number of concurrent calls
+   */
+  private Bulkhead(final int maxConcurrentCalls) {
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.permits = new Semaphore(maxConcurrentCalls);
+  }
+
+  /**
+   * Creates a bulkhead allowing {@code maxConcurrentCalls} calls at once and rejecting any other
+   * call immediately.
+   *
+   * @param maxConcurrentCalls maximum number of concurrent calls
+   * @return new instance of {@link Bulkhead}
+   * @throws IllegalArgumentException if {@code maxConcurrentCalls} is less than 1
+   */
+  @Contract("_ -> new")
+  public static @NotNull Bulkhead of(final int maxConcurrentCalls) {
+    if (maxConcurrentCalls < 1) {
+      throw new IllegalArgumentException("maxConcurrentCalls must be at least 1");
+    }
+    return new Bulkhead(maxConcurrentCalls);
+  }
+
+  /**
+   * Use to let calls wait a bounded time for a permit when the bulkhead is full.
+   *
+   * @param maxWait the longest time a call waits for a permit
+   * @return current instance of {@link Bulkhead}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public Bulkhead maxWait(final Duration maxWait) {
+    Objects.requireNonNull(maxWait, "maxWait cannot be null");
+    if (maxWait.isNegative()) {
+      throw new IllegalArgumentException("maxWait cannot be negative");
+    }
+    this.maxWaitNanos = maxWait.toNanos();
+    return this;
+  }
+
+  /**
+   * Tries the {@link Dealer} operation once a permit is available.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param <T> variable type
+   * @return instance of {@link Try} with the operation result, or a {@link
+   *     RejectedExecutionException} failure if the bulkhead stayed full.
+   */
+  public <T> @NotNull Try<T> call(final Dealer<? extends T> operation) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    final Try<T> denied = this.acquire();
+    if (denied != null) {
+      return denied;
+    }
+    try {
+      return Try.of(operation);
+    } finally {
+      this.permits.release();
+    }
+  }
+
+  /**
+   * Tries the {@link Executable} operation once a permit is available.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Executable} type.
+   * @param <T> variable type
+   * @return instance of {@link Try} without result, or a {@link RejectedExecutionException}
+   *     failure if the bulkhead stayed full.
+   */
+  public <T> @NotNull Try<T> execute(final Executable operation) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    final Try<T> denied = this.acquire();
+    if (denied != null) {
+      return denied;
+    }
+    try {
+      return Try.of(operation);
+    } finally {
+      this.permits.release();
+    }
+  }
+
+  /**
+   * Returns the maximum number of concurrent calls.
+   *
+   * @return the maximum number of concurrent calls
+   */
+  @Contract(pure = true)
+  public int getMaxConcurrentCalls() {
+    return this.maxConcurrentCalls;
+  }
+
+  /**
+   * Returns the number of calls which could start right now.
+   *
+   * @return the number of available permits
+   */
+  public int getAvailableCalls() {
+    return this.permits.availablePermits();
+  }
+
+  /**
+   * Returns the share of the permits in use.
+   *
+   * @return the utilization between 0 and 1
+   */
+  public double getUtilization() {
+    return 1.0 - (double) this.permits.availablePermits() / this.maxConcurrentCalls;
+  }
+
+  /**
+   * Returns the number of calls which were given a permit.
+   *
+   * @return the number of permitted calls
+   */
+  public long getAcceptedCalls() {
+    return this.accepted.sum();
+  }
+
+  /**
+   * Returns the number of calls which were rejected.
+   *
+   * @return the number of rejected calls
+   */
+  public long getRejectedCalls() {
+    return this.rejections.sum();
+  }
+
+  /**
+   * Takes a permit, waiting at most the maximum wait.
+   *
+   * @param <T> variable type
+   * @return {@code null} if a permit was taken, otherwise the failure to return
+   */
+  @SuppressWarnings("unchecked")
+  private <T> Try<T> acquire() {
+    try {
+      final boolean permitted =
+          this.maxWaitNanos == 0L
+              ? this.permits.tryAcquire()
+              : this.permits.tryAcquire(this.maxWaitNanos, TimeUnit.NANOSECONDS);
+      if (permitted) {
+        this.accepted.increment();
+        return null;
+      }
+      this.rejections.increment();
+      return (Try<T>) this.rejected;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.rejections.increment();
+      return Try.failure(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Bulkhead{"
+        + "maxConcurrentCalls="
+        + this.maxConcurrentCalls
+        + ", availableCalls="
+        + this.getAvailableCalls()
+        + ", acceptedCalls="
+        + this.getAcceptedCalls()
+        + ", rejectedCalls="
+        + this.getRejectedCalls()
+        + '}';
+  }
+}
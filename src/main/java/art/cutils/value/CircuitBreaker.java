@@ -0,0 +1,443 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import art.cutils.function.Dealer;
+import art.cutils.function.Executable;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A {@link CircuitBreaker} protects callers from a degraded dependency by failing fast. It tries
+ * operations like {@link Try#of(Dealer)} does, while recording their outcome in a sliding window of
+ * the last calls.
+ *
+ * <ul>
+ *   <li>{@link State#CLOSED}: calls go through. Once the failure rate or the slow call rate of the
+ *       window reaches its threshold, the breaker opens.
+ *   <li>{@link State#OPEN}: calls are rejected with a {@link RejectedExecutionException} failure,
+ *       without running the operation. After the wait duration the breaker turns half-open.
+ *   <li>{@link State#HALF_OPEN}: a limited number of trial calls go through, the rest are rejected.
+ *       Once the trial calls are recorded the breaker closes again, or re-opens if they still
+ *       exceed a threshold.
+ * </ul>
+ *
+ * <p>Every transition is a single compare-and-set, no lock is taken on the call path, and a
+ * rejected call returns a shared {@link Try} failure without allocating.
+ *
+ * <pre>{@code
+ * final CircuitBreaker breaker =
+ *     CircuitBreaker.of(50).failureRateThreshold(0.5).waitInOpen(Duration.ofSeconds(10));
+ * final Try<Quote> quote = breaker.call(() -> pricing.quote(item));
+ * }</pre>
+ *
+ * <p>The thresholds and durations are read on every call without synchronization, so set them
+ * before the breaker reaches the threads calling through it.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class CircuitBreaker {
+
+  /** Outcome bit of a recorded call. */
+  private static final int RECORDED = 1;
+
+  /** Outcome bit of a failed call. */
+  private static final int FAILED = 2;
+
+  /** Outcome bit of a slow call. */
+  private static final int SLOW = 4;
+
+  /** Number of calls in the sliding window. */
+  private final int windowSize;
+
+  /** Shared failure returned for every rejected call. */
+  private final Try<?> rejected =
+      Try.failure(new RejectedExecutionException("CircuitBreaker is open"));
+
+  /** Current state with its window, swapped atomically on every transition. */
+  private final AtomicReference<Phase> phase;
+
+  /** Failure rate, between 0 and 1, from which the breaker opens. */
+  private double failureRateThreshold = 0.5;
+
+  /** Slow call rate, between 0 and 1, from which the breaker opens. */
+  private double slowCallRateThreshold = 1.0;
+
+  /** Duration from which a call counts as slow, in nanoseconds. */
+  private long slowCallNanos = Duration.ofSeconds(60L).toNanos();
+
+  /** Calls to record before the rates are considered. */
+  private int minimumCalls;
+
+  /** Time to stay open before letting trial calls through, in nanoseconds. */
+  private long waitInOpenNanos = Duration.ofSeconds(60L).toNanos();
+
+  /** Number of trial calls in half-open state. */
+  private int permittedCallsInHalfOpen = 10;
+
+  /**
+   * Sealed.
+   *
+   * @param windowSize number of calls in the sliding window
+   */
+  private CircuitBreaker(final int windowSize) {
+    this.windowSize = windowSize;
+    this.minimumCalls = windowSize;
+    this.phase = new AtomicReference<>(new Phase(State.CLOSED, new Window(windowSize), 0L));
+  }
+
+  /**
+   * Creates a closed breaker recording the last {@code windowSize} calls. By default it opens at a
+   * 50% failure rate once the window is full, stays open for 60 seconds and then lets 10 trial
+   * calls through.
+   *
+   * @param windowSize number of calls in the sliding window
+   * @return new instance of {@link CircuitBreaker}
+   * @throws IllegalArgumentException if {@code windowSize} is less than 1
+   */
+  @Contract("_ -> new")
+  public static @NotNull CircuitBreaker of(final int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be at least 1");
+    }
+    return new CircuitBreaker(windowSize);
+  }
+
+  /**
+   * Use to set the failure rate from which the breaker opens.
+   *
+   * @param threshold failure rate between 0 (exclusive) and 1 (inclusive)
+   * @return current instance of {@link CircuitBreaker}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public CircuitBreaker failureRateThreshold(final double threshold) {
+    this.failureRateThreshold = CircuitBreaker.requireRate(threshold);
+    return this;
+  }
+
+  /**
+   * Use to open the breaker when too many calls are slow, even if they succeed.
+   *
+   * @param threshold slow call rate between 0 (exclusive) and 1 (inclusive)
+   * @param slowCallDuration duration from which a call counts as slow
+   * @return current instance of {@link CircuitBreaker}
+   */
+  @Contract(value = "_, _ -> this", mutates = "this")
+  public CircuitBreaker slowCallRateThreshold(
+      final double threshold, final Duration slowCallDuration) {
+    Objects.requireNonNull(slowCallDuration, "slowCallDuration cannot be null");
+    this.slowCallRateThreshold = CircuitBreaker.requireRate(threshold);
+    this.slowCallNanos = slowCallDuration.toNanos();
+    return this;
+  }
+
+  /**
+   * Use to set how many calls must be recorded before the rates are considered.
+   *
+   * @param minimumCalls number of calls, between 1 and the window size
+   * @return current instance of {@link CircuitBreaker}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public CircuitBreaker minimumCalls(final int minimumCalls) {
+    if (minimumCalls < 1 || minimumCalls > this.windowSize) {
+      throw new IllegalArgumentException("minimumCalls must be between 1 and the window size");
+    }
+    this.minimumCalls = minimumCalls;
+    return this;
+  }
+
+  /**
+   * Use to set how long the breaker stays open before letting trial calls through.
+   *
+   * @param waitInOpen time to stay open
+   * @return current instance of {@link CircuitBreaker}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public CircuitBreaker waitInOpen(final Duration waitInOpen) {
+    Objects.requireNonNull(waitInOpen, "waitInOpen cannot be null");
+    this.waitInOpenNanos = waitInOpen.toNanos();
+    return this;
+  }
+
+  /**
+   * Use to set the number of trial calls let through in half-open state.
+   *
+   * @param permittedCalls number of trial calls, at least 1
+   * @return current instance of {@link CircuitBreaker}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public CircuitBreaker permittedCallsInHalfOpen(final int permittedCalls) {
+    if (permittedCalls < 1) {
+      throw new IllegalArgumentException("permittedCalls must be at least 1");
+    }
+    this.permittedCallsInHalfOpen = permittedCalls;
+    return this;
+  }
+
+  /**
+   * Tries the {@link Dealer} operation if the breaker permits it.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param <T> variable type
+   * @return instance of {@link Try} with the operation result, or a {@link
+   *     RejectedExecutionException} failure if the call was not permitted.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> @NotNull Try<T> call(final Dealer<? extends T> operation) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    final Phase permit = this.acquire();
+    if (permit == null) {
+      return (Try<T>) this.rejected;
+    }
+    return this.guarded(permit, () -> Try.of(operation));
+  }
+
+  /**
+   * Tries the {@link Executable} operation if the breaker permits it.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Executable} type.
+   * @param <T> variable type
+   * @return instance of {@link Try} without result, or a {@link RejectedExecutionException}
+   *     failure if the call was not permitted.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> @NotNull Try<T> execute(final Executable operation) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    final Phase permit = this.acquire();
+    if (permit == null) {
+      return (Try<T>) this.rejected;
+    }
+    return this.guarded(permit, () -> Try.of(operation));
+  }
+
+  /**
+   * Runs a permitted call and records it. An {@link Error} escaping the call is recorded as a
+   * failure, so that a trial call of a half-open breaker always gives its permit back.
+   *
+   * @param permit the phase the call was permitted in
+   * @param call tries the operation
+   * @param <T> variable type
+   * @return the call result
+   */
+  private <T> Try<T> guarded(final Phase permit, final Supplier<Try<T>> call) {
+    final long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      final Try<T> result = call.get();
+      failed = result.isFailure();
+      return result;
+    } finally {
+      this.record(permit, failed, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Returns the current state of the breaker.
+   *
+   * @return the current {@link State}
+   */
+  public State getState() {
+    return this.phase.get().state;
+  }
+
+  /**
+   * Returns the failure rate of the calls recorded in the current state.
+   *
+   * @return failure rate between 0 and 1, or 0 when open
+   */
+  public double getFailureRate() {
+    final Window window = this.phase.get().window;
+    return window == null ? 0.0 : window.rate(window.failures);
+  }
+
+  /**
+   * Returns the slow call rate of the calls recorded in the current state.
+   *
+   * @return slow call rate between 0 and 1, or 0 when open
+   */
+  public double getSlowCallRate() {
+    final Window window = this.phase.get().window;
+    return window == null ? 0.0 : window.rate(window.slows);
+  }
+
+  /**
+   * Checks if a call is permitted, moving an expired open breaker to half-open.
+   *
+   * @return the phase the call is recorded against, or {@code null} if the call is rejected
+   */
+  private Phase acquire() {
+    while (true) {
+      final Phase current = this.phase.get();
+      switch (current.state) {
+        case CLOSED:
+          return current;
+        case HALF_OPEN:
+          return current.window.tryPermit() ? current : null;
+        default:
+          final long now = System.nanoTime();
+          if (now - current.since < this.waitInOpenNanos) {
+            return null;
+          }
+          final Window trial = new Window(this.permittedCallsInHalfOpen);
+          trial.permits.set(this.permittedCallsInHalfOpen);
+          this.phase.compareAndSet(current, new Phase(State.HALF_OPEN, trial, now));
+      }
+    }
+  }
+
+  /**
+   * Records the outcome of a permitted call and makes the transition it triggers, if any.
+   *
+   * @param permit the phase the call was permitted in
+   * @param failed whether the call failed
+   * @param elapsed the call duration in nanoseconds
+   */
+  private void record(final Phase permit, final boolean failed, final long elapsed) {
+    final int outcome =
+        RECORDED | (failed ? FAILED : 0) | (elapsed >= this.slowCallNanos ? SLOW : 0);
+    final Window window = permit.window;
+    window.record(outcome);
+
+    final int calls = window.calls.get();
+    final boolean exceeded =
+        window.rate(window.failures) >= this.failureRateThreshold
+            || window.rate(window.slows) >= this.slowCallRateThreshold;
+    if (permit.state == State.CLOSED) {
+      if (calls >= this.minimumCalls && exceeded) {
+        this.phase.compareAndSet(permit, new Phase(State.OPEN, null, System.nanoTime()));
+      }
+    } else if (calls >= window.size) {
+      this.phase.compareAndSet(
+          permit,
+          exceeded
+              ? new Phase(State.OPEN, null, System.nanoTime())
+              : new Phase(State.CLOSED, new Window(this.windowSize), 0L));
+    }
+  }
+
+  private static double requireRate(final double rate) {
+    if (rate <= 0.0 || rate > 1.0) {
+      throw new IllegalArgumentException("rate must be greater than 0 and at most 1");
+    }
+    return rate;
+  }
+
+  @Override
+  public String toString() {
+    return "CircuitBreaker{"
+        + "state="
+        + this.getState()
+        + ", windowSize="
+        + this.windowSize
+        + ", failureRate="
+        + this.getFailureRate()
+        + ", slowCallRate="
+        + this.getSlowCallRate()
+        + '}';
+  }
+
+  /** The states of a {@link CircuitBreaker}. */
+  public enum State {
+    /** Calls go through and are recorded. */
+    CLOSED,
+    /** Calls are rejected. */
+    OPEN,
+    /** A limited number of trial calls go through. */
+    HALF_OPEN
+  }
+
+  /** A state with the time it was entered and the window recording its calls. */
+  private static final class Phase {
+    private final State state;
+    private final Window window;
+    private final long since;
+
+    @Contract(pure = true)
+    private Phase(final State state, final Window window, final long since) {
+      this.state = state;
+      this.window = window;
+      this.since = since;
+    }
+  }
+
+  /** A ring of the last call outcomes with running totals, updated without locking. */
+  private static final class Window {
+    private final int size;
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slows = new AtomicInteger();
+    private final AtomicInteger permits = new AtomicInteger();
+
+    private Window(final int size) {
+      this.size = size;
+      this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    private void record(final int outcome) {
+      final int slot = (int) (this.cursor.getAndIncrement() % this.size);
+      final int evicted = this.outcomes.getAndSet(slot, outcome);
+      if (evicted == 0) {
+        this.calls.incrementAndGet();
+      }
+      Window.count(this.failures, evicted, outcome, FAILED);
+      Window.count(this.slows, evicted, outcome, SLOW);
+    }
+
+    private boolean tryPermit() {
+      int left;
+      do {
+        left = this.permits.get();
+        if (left <= 0) {
+          return false;
+        }
+      } while (!this.permits.compareAndSet(left, left - 1));
+      return true;
+    }
+
+    private static void count(
+        final AtomicInteger total, final int evicted, final int outcome, final int bit) {
+      final int delta = (outcome & bit) - (evicted & bit);
+      if (delta != 0) {
+        total.addAndGet(Integer.signum(delta));
+      }
+    }
+
+    private double rate(final AtomicInteger total) {
+      final int recorded = this.calls.get();
+      return recorded == 0 ? 0.0 : (double) total.get() / recorded;
+    }
+  }
+}
@@ -0,0 +1,595 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the tasks of a {@link Syndicate} and hands their results back in completion order, the way
+ * an {@link java.util.concurrent.ExecutorCompletionService} does. Each task queues itself once
+ * done; the results are read by a single consumer thread through {@link Iterator}.
+ *
+ * <p>At most {@code maxInFlight} tasks are submitted ahead of the consumer: the next task is only
+ * pulled from its source once a result has been read, so a lazy source of any length runs in
+ * bounded memory and threads.
+ *
+ * <p>With an {@link AdaptiveLimit}, a task is also only submitted once the limit grants it a
+ * permit, and hands its latency back to the limit when done.
+ *
+ * <p>When the overall timeout elapses, or the consumer is interrupted, the tasks still running are
+ * cancelled and handed back as {@link CancellationException} failures. In fail-fast mode, so are
+ * they as soon as a task fails.
+ *
+ * @param <T> the type of the values from the tasks
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+final class Dispatch<T> implements Iterator<Try<T>> {
+
+  /** Runs the tasks. */
+  private final ExecutorService executor;
+
+  /** Tasks not submitted yet. */
+  private final Iterator<? extends Callable<T>> tasks;
+
+  /** Tasks done and not read yet. */
+  private final BlockingQueue<Task<T>> completed = new LinkedBlockingQueue<>();
+
+  /** Tasks submitted and not done yet. */
+  private final Set<Task<T>> running = ConcurrentHashMap.newKeySet();
+
+  /** {@link System#nanoTime()} by which every task must be done, if {@link #timed}. */
+  private final long deadline;
+
+  /** Whether the tasks must be done by {@link #deadline}. */
+  private final boolean timed;
+
+  /** Maximum number of tasks submitted and not read yet. */
+  private final int maxInFlight;
+
+  /** Whether a failed task cancels the others. */
+  private final boolean failFast;
+
+  /** Adjusts the number of tasks running at once, if set. */
+  private final AdaptiveLimit limit;
+
+  /** Tasks submitted and not read yet, only used by the consumer thread. */
+  private int pending;
+
+  /** Tasks submitted so far, only used by the consumer thread. */
+  private int submitted;
+
+  /** Submission index of the task last read, only used by the consumer thread. */
+  private int index = -1;
+
+  /** Whether the task last read was cancelled by the timeout, only used by the consumer thread. */
+  private boolean expired;
+
+  /** Set once the remaining tasks are cancelled, no task is submitted afterwards. */
+  private volatile boolean cancelled;
+
+  /** Set once the timeout elapsed. */
+  private boolean timedOut;
+
+  /**
+   * Sealed.
+   *
+   * @param executor runs the tasks
+   * @param tasks the tasks to run
+   * @param maxInFlight maximum number of tasks submitted and not read yet
+   * @param timeoutNanos time allowed to all the tasks, 0 for no limit
+   * @param failFast whether a failed task cancels the others
+   * @param limit adjusts the number of tasks running at once, {@code null} for none
+   */
+  private Dispatch(
+      final ExecutorService executor,
+      final Iterator<? extends Callable<T>> tasks,
+      final int maxInFlight,
+      final long timeoutNanos,
+      final boolean failFast,
+      final AdaptiveLimit limit) {
+    this.executor = executor;
+    this.tasks = tasks;
+    this.maxInFlight = maxInFlight;
+    this.failFast = failFast;
+    this.limit = limit;
+    this.timed = timeoutNanos > 0L;
+    this.deadline = System.nanoTime() + timeoutNanos;
+  }
+
+  /**
+   * Submits the first {@code maxInFlight} tasks to the {@code executor}.
+   *
+   * @param executor runs the tasks
+   * @param tasks the tasks to run
+   * @param maxInFlight maximum number of tasks submitted and not read yet
+   * @param timeoutNanos time allowed to all the tasks, 0 for no limit
+   * @param failFast whether a failed task cancels the others
+   * @param limit adjusts the number of tasks running at once, {@code null} for none
+   * @param <T> the type of the values from the tasks
+   * @return new instance of {@link Dispatch}, reading the results
+   */
+  static <T> @NotNull Dispatch<T> start(
+      final ExecutorService executor,
+      final Iterator<? extends Callable<T>> tasks,
+      final int maxInFlight,
+      final long timeoutNanos,
+      final boolean failFast,
+      final AdaptiveLimit limit) {
+    final Dispatch<T> dispatch =
+        new Dispatch<>(executor, tasks, maxInFlight, timeoutNanos, failFast, limit);
+    dispatch.fill();
+    return dispatch;
+  }
+
+  /**
+   * Runs the tasks like {@link ExecutorService#invokeAll(java.util.Collection)}, but submits at
+   * most {@code maxInFlight} of them at once, blocking until one completes to submit the next.
+   * Tasks still running or not started when the timeout elapses are cancelled, and so are they
+   * as soon as a task fails in fail-fast mode.
+   *
+   * @param executor runs the tasks
+   * @param tasks the tasks to run
+   * @param maxInFlight maximum number of tasks running at once
+   * @param timeoutNanos time allowed to all the tasks, 0 for no limit
+   * @param failFast whether a failed task cancels the others
+   * @param limit adjusts the number of tasks running at once, {@code null} for none
+   * @param <T> the type of the values from the tasks
+   * @return the futures of the tasks, in the order of the tasks, all done
+   * @throws InterruptedException if interrupted while waiting, the tasks are then cancelled
+   */
+  static <T> @NotNull List<Future<T>> invokeAll(
+      final ExecutorService executor,
+      final Iterator<? extends Callable<T>> tasks,
+      final int maxInFlight,
+      final long timeoutNanos,
+      final boolean failFast,
+      final AdaptiveLimit limit)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + timeoutNanos;
+    final Semaphore permits = new Semaphore(maxInFlight);
+    final List<Expiring<T>> futures = new ArrayList<>();
+    final Set<Future<T>> running = ConcurrentHashMap.newKeySet();
+    final AtomicBoolean failed = new AtomicBoolean();
+    boolean done = false;
+    try {
+      while (tasks.hasNext()) {
+        final Callable<T> task = Objects.requireNonNull(tasks.next(), "task cannot be null");
+        if (failed.get() || !Dispatch.acquire(permits, limit, timeoutNanos > 0L, deadline)) {
+          final Expiring<T> skipped = new Expiring<>(task);
+          skipped.cancel(false);
+          futures.add(skipped);
+          continue;
+        }
+        final Expiring<T> future =
+            new Expiring<T>(task) {
+              @Override
+              protected void done() {
+                running.remove(this);
+                permits.release();
+                if (Objects.nonNull(limit)) {
+                  Dispatch.release(limit, this.started, this.isCancelled(), Dispatch.failure(this));
+                }
+                if (failFast
+                    && !this.isCancelled()
+                    && Dispatch.isFailed(this)
+                    && failed.compareAndSet(false, true)) {
+                  running.forEach(sibling -> sibling.cancel(true));
+                }
+              }
+            };
+        futures.add(future);
+        running.add(future);
+        Stripes.launch(executor, task, future);
+        if (failed.get()) {
+          future.cancel(true);
+        }
+      }
+      for (final Future<T> future : futures) {
+        if (!future.isDone()) {
+          try {
+            if (timeoutNanos > 0L) {
+              future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } else {
+              future.get();
+            }
+          } catch (final ExecutionException | CancellationException e) {
+            // the failure is kept in the future
+          } catch (final TimeoutException e) {
+            futures.forEach(Expiring::expire);
+            break;
+          }
+        }
+      }
+      done = true;
+      return new ArrayList<>(futures);
+    } finally {
+      if (!done) {
+        futures.forEach(future -> future.cancel(true));
+      }
+    }
+  }
+
+  private static boolean isFailed(final Future<?> future) {
+    return Objects.nonNull(Dispatch.failure(future));
+  }
+
+  /**
+   * Returns why a done task failed.
+   *
+   * @param future the future of the task
+   * @return the cause of the failure, {@code null} if the task succeeded or was cancelled
+   */
+  private static Throwable failure(final Future<?> future) {
+    try {
+      future.get();
+      return null;
+    } catch (final ExecutionException e) {
+      return e.getCause();
+    } catch (final CancellationException e) {
+      return null;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private static boolean acquire(
+      final Semaphore permits, final AdaptiveLimit limit, final boolean timed, final long deadline)
+      throws InterruptedException {
+    if (!timed) {
+      permits.acquire();
+    } else {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0L || !permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    boolean acquired = false;
+    try {
+      acquired = Objects.isNull(limit) || limit.acquire(timed, deadline);
+      return acquired;
+    } finally {
+      if (!acquired) {
+        permits.release();
+      }
+    }
+  }
+
+  /**
+   * Gives the permit of a task back to the {@code limit}, along with the outcome of the task if it
+   * ran to completion.
+   *
+   * @param limit the limit the task ran under
+   * @param started {@link System#nanoTime()} the task started at, 0 if it did not
+   * @param cancelled whether the task was cancelled
+   * @param failure the cause of the failure of the task, {@code null} if it succeeded
+   */
+  private static void release(
+      final AdaptiveLimit limit,
+      final long started,
+      final boolean cancelled,
+      final Throwable failure) {
+    if (started == 0L || cancelled) {
+      limit.release();
+    } else {
+      limit.release(System.nanoTime() - started, failure);
+    }
+  }
+
+  private void fill() {
+    while (!this.cancelled && this.pending < this.maxInFlight && this.tasks.hasNext()) {
+      if (Objects.nonNull(this.limit) && !this.limit.tryAcquire()) {
+        if (this.pending > 0) {
+          // a task done will make room and call back
+          return;
+        }
+        try {
+          if (!this.limit.acquire(this.timed, this.deadline)) {
+            this.timedOut = true;
+            this.cancelled = true;
+            return;
+          }
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          this.cancelled = true;
+          return;
+        }
+      }
+      this.submit(this.tasks.next());
+    }
+  }
+
+  private void submit(final Callable<T> callable) {
+    final Task<T> task =
+        new Task<>(Objects.requireNonNull(callable, "task cannot be null"), this.submitted++, this);
+    this.pending++;
+    this.running.add(task);
+    try {
+      Stripes.launch(this.executor, callable, task);
+    } catch (final RejectedExecutionException e) {
+      task.reject(e);
+    }
+    if (this.cancelled) {
+      task.cancel(true);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.pending > 0;
+  }
+
+  /**
+   * Waits for the next task to be done.
+   *
+   * @return the result of the task, in completion order
+   */
+  @Override
+  public Try<T> next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Task<T> task = this.completed.poll();
+    if (Objects.isNull(task)) {
+      try {
+        task =
+            this.timed
+                ? this.completed.poll(this.remaining(), TimeUnit.NANOSECONDS)
+                : this.completed.take();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (Objects.isNull(task)) {
+        this.timedOut = !Thread.currentThread().isInterrupted();
+        if (this.timedOut) {
+          this.expire();
+        } else {
+          this.cancel();
+        }
+        task = this.takeUninterruptibly();
+      }
+    }
+    this.pending--;
+    this.index = task.index;
+    this.expired = task.expired && task.isCancelled();
+    this.fill();
+    return task.result();
+  }
+
+  private long remaining() {
+    return Math.max(0L, this.deadline - System.nanoTime());
+  }
+
+  /**
+   * Waits for a task to be done, once every task has been cancelled so the wait is short.
+   *
+   * @return the task
+   */
+  private Task<T> takeUninterruptibly() {
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (true) {
+        try {
+          return this.completed.take();
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Returns the position of the task last read among the tasks, in submission order.
+   *
+   * @return the index of the task last read by {@link #next()}
+   */
+  int index() {
+    return this.index;
+  }
+
+  /**
+   * Tells whether the task last read was cancelled because the timeout elapsed, rather than by
+   * {@link #cancel()} or a failed task in fail-fast mode.
+   *
+   * @return {@code true} if the task last read by {@link #next()} was cut off by the timeout
+   */
+  boolean isExpired() {
+    return this.expired;
+  }
+
+  /**
+   * Returns the number of tasks submitted, the others were never pulled from their source.
+   *
+   * @return the number of tasks submitted so far
+   */
+  int submitted() {
+    return this.submitted;
+  }
+
+  /**
+   * Tells whether the timeout elapsed before every task was read.
+   *
+   * @return {@code true} if the remaining tasks were cancelled for lack of time
+   */
+  boolean isTimedOut() {
+    return this.timedOut;
+  }
+
+  /** Cancels and interrupts the tasks still running; tasks not submitted yet never run. */
+  void cancel() {
+    this.cancelled = true;
+    this.running.forEach(task -> task.cancel(true));
+  }
+
+  /** Cancels the tasks still running once the timeout elapsed, marking them as cut off by it. */
+  private void expire() {
+    this.cancelled = true;
+    this.running.forEach(Expiring::expire);
+  }
+
+  /**
+   * Tells whether the task running on the current thread is being cancelled because the timeout of
+   * its dispatch elapsed, so that its failure can be told from any other.
+   *
+   * @return {@code true} if the task of the current thread was cut off by the timeout
+   */
+  static boolean isExpiring() {
+    final Expiring<?> task = Expiring.CURRENT.get();
+    return Objects.nonNull(task) && task.expired;
+  }
+
+  /**
+   * Tells whether the task running on the current thread was cancelled, so that an interrupt meant
+   * for it is not mistaken for another one.
+   *
+   * @return {@code true} if the task of the current thread was cancelled
+   */
+  static boolean isCancelled() {
+    final Expiring<?> task = Expiring.CURRENT.get();
+    return Objects.nonNull(task) && task.isCancelled();
+  }
+
+  /**
+   * A task which can be cut off by the timeout of its dispatch, or failed with the rejection of
+   * its stripe.
+   *
+   * @param <V> the result type of the task
+   */
+  private static class Expiring<V> extends FutureTask<V> implements Stripes.Rejectable {
+
+    /** The task running on each thread. */
+    private static final ThreadLocal<Expiring<?>> CURRENT = new ThreadLocal<>();
+
+    /** {@link System#nanoTime()} the task started at, 0 if it did not. */
+    volatile long started;
+
+    /** Set before the task is cancelled because the timeout elapsed. */
+    volatile boolean expired;
+
+    private Expiring(final Callable<V> callable) {
+      super(callable);
+    }
+
+    @Override
+    public void run() {
+      this.started = System.nanoTime();
+      Expiring.CURRENT.set(this);
+      try {
+        super.run();
+      } finally {
+        Expiring.CURRENT.remove();
+      }
+    }
+
+    @Override
+    public void reject(final RejectedExecutionException cause) {
+      this.setException(cause);
+    }
+
+    /** Cancels the task, if not done, marking it as cut off by the timeout. */
+    void expire() {
+      if (!this.isDone()) {
+        this.expired = true;
+        this.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * A task which queues itself once done, cancelled or not.
+   *
+   * @param <T> the type of the value from the task
+   */
+  private static final class Task<T> extends Expiring<Try<T>> {
+    private final int index;
+    private final Dispatch<T> dispatch;
+
+    private Task(final Callable<T> callable, final int index, final Dispatch<T> dispatch) {
+      super(() -> Try.of(callable::call));
+      this.index = index;
+      this.dispatch = dispatch;
+    }
+
+    @Override
+    public void reject(final RejectedExecutionException cause) {
+      this.set(Try.failure(cause));
+    }
+
+    private Try<T> result() {
+      try {
+        return this.get();
+      } catch (final CancellationException e) {
+        return Try.failure(e);
+      } catch (final ExecutionException e) {
+        return Try.failure(e.getCause());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Try.failure(e);
+      }
+    }
+
+    @Override
+    protected void done() {
+      if (Objects.nonNull(this.dispatch.limit)) {
+        final Try<T> result = this.result();
+        Dispatch.release(
+            this.dispatch.limit,
+            this.started,
+            this.isCancelled(),
+            result.isFailure() ? result.getCause() : null);
+      }
+      this.dispatch.running.remove(this);
+      this.dispatch.completed.add(this);
+      if (this.dispatch.failFast && !this.isCancelled() && this.result().isFailure()) {
+        this.dispatch.cancel();
+      }
+    }
+  }
+}
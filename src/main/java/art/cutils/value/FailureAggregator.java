@@ -0,0 +1,311 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link FailureListener} grouping failures by exception type and throw site, so an error storm
+ * is summarised by a few counters instead of a log line per failure.
+ *
+ * <p>Every failure is counted; only sampled failures are looked up by type and site, their count
+ * then weighted by the sampling rate. Recording takes no lock. Once the maximum number of sites is
+ * tracked, failures from new sites are only counted as untracked.
+ *
+ * <pre>{@code
+ * final FailureAggregator failures = FailureAggregator.create().sampleOneIn(10);
+ * Try.addFailureListener(failures);
+ * ...
+ * failures.top(5).forEach(entry -> log.warn("{}", entry));
+ * }</pre>
+ *
+ * <p>The sampling rate and the maximum number of sites are plain fields read on every failure, so
+ * set them before the aggregator is registered with {@link Try#addFailureListener}.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class FailureAggregator implements FailureListener {
+
+  /** Failures counted since creation or the last reset. */
+  private final LongAdder total = new LongAdder();
+
+  /** Estimated failures from sites which were not tracked. */
+  private final LongAdder untracked = new LongAdder();
+
+  /** Estimated failures by type and site. */
+  private final Map<Site, LongAdder> sites = new ConcurrentHashMap<>();
+
+  /** One failure in this many is sampled. */
+  private int sampleOneIn = 1;
+
+  /** Maximum number of tracked sites. */
+  private int maxSites = 1024;
+
+  /** {@link System#nanoTime()} of the creation or the last reset. */
+  private volatile long since = System.nanoTime();
+
+  /** Sealed. */
+  @Contract(pure = true)
+  private FailureAggregator() {}
+
+  /**
+   * Creates an aggregator sampling every failure and tracking up to 1024 sites.
+   *
+   * @return new instance of {@link FailureAggregator}
+   */
+  @Contract(value = " -> new", pure = true)
+  public static @NotNull FailureAggregator create() {
+    return new FailureAggregator();
+  }
+
+  /**
+   * Use to sample one failure in {@code rate} on average.
+   *
+   * @param rate the sampling rate, at least 1
+   * @return current instance of {@link FailureAggregator}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public FailureAggregator sampleOneIn(final int rate) {
+    if (rate < 1) {
+      throw new IllegalArgumentException("rate must be at least 1");
+    }
+    this.sampleOneIn = rate;
+    return this;
+  }
+
+  /**
+   * Use to bound the number of tracked sites.
+   *
+   * @param maxSites maximum number of tracked sites, at least 1
+   * @return current instance of {@link FailureAggregator}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public FailureAggregator maxSites(final int maxSites) {
+    if (maxSites < 1) {
+      throw new IllegalArgumentException("maxSites must be at least 1");
+    }
+    this.maxSites = maxSites;
+    return this;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onFailure(final Throwable cause) {
+    this.total.increment();
+    final int rate = this.sampleOneIn;
+    if (rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) {
+      return;
+    }
+    final Site site = Site.of(cause);
+    LongAdder count = this.sites.get(site);
+    if (count == null) {
+      if (this.sites.size() >= this.maxSites) {
+        this.untracked.add(rate);
+        return;
+      }
+      count = this.sites.computeIfAbsent(site, key -> new LongAdder());
+    }
+    count.add(rate);
+  }
+
+  /**
+   * Returns the number of failures since creation or the last reset.
+   *
+   * @return the number of failures
+   */
+  public long getTotal() {
+    return this.total.sum();
+  }
+
+  /**
+   * Returns the estimated number of failures from sites which were not tracked.
+   *
+   * @return the estimated number of untracked failures
+   */
+  public long getUntracked() {
+    return this.untracked.sum();
+  }
+
+  /**
+   * Returns the average number of failures per second since creation or the last reset.
+   *
+   * @return the failure rate per second
+   */
+  public double getRate() {
+    return FailureAggregator.perSecond(this.total.sum(), System.nanoTime() - this.since);
+  }
+
+  /**
+   * Returns the sites with the most failures.
+   *
+   * @param n maximum number of entries
+   * @return up to {@code n} entries, most frequent first
+   */
+  public @NotNull List<Entry> top(final int n) {
+    final long elapsed = System.nanoTime() - this.since;
+    final List<Entry> entries = new ArrayList<>(this.sites.size());
+    this.sites.forEach(
+        (site, count) -> {
+          final long sum = count.sum();
+          entries.add(new Entry(site, sum, FailureAggregator.perSecond(sum, elapsed)));
+        });
+    entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+    return entries.size() > n ? new ArrayList<>(entries.subList(0, n)) : entries;
+  }
+
+  /** Clears every counter and restarts the rates. */
+  public void reset() {
+    this.sites.clear();
+    this.total.reset();
+    this.untracked.reset();
+    this.since = System.nanoTime();
+  }
+
+  private static double perSecond(final long count, final long elapsedNanos) {
+    return elapsedNanos <= 0L ? 0.0 : count * (double) TimeUnit.SECONDS.toNanos(1L) / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "FailureAggregator{"
+        + "total="
+        + this.getTotal()
+        + ", untracked="
+        + this.getUntracked()
+        + ", sites="
+        + this.sites.size()
+        + '}';
+  }
+
+  /** Failures of a type thrown from a site, with their estimated count and rate. */
+  public static final class Entry {
+    private final Site site;
+    private final long count;
+    private final double rate;
+
+    @Contract(pure = true)
+    private Entry(final Site site, final long count, final double rate) {
+      this.site = site;
+      this.count = count;
+      this.rate = rate;
+    }
+
+    /**
+     * Returns the exception type.
+     *
+     * @return the class of the exceptions
+     */
+    @Contract(pure = true)
+    public Class<? extends Throwable> getType() {
+      return this.site.type;
+    }
+
+    /**
+     * Returns the frame the exceptions were thrown from.
+     *
+     * @return the throw site, or {@code null} if the exceptions had no stack trace
+     */
+    @Contract(pure = true)
+    public StackTraceElement getSite() {
+      return this.site.frame;
+    }
+
+    /**
+     * Returns the estimated number of failures.
+     *
+     * @return the estimated count
+     */
+    @Contract(pure = true)
+    public long getCount() {
+      return this.count;
+    }
+
+    /**
+     * Returns the average number of failures per second.
+     *
+     * @return the failure rate per second
+     */
+    @Contract(pure = true)
+    public double getRate() {
+      return this.rate;
+    }
+
+    @Override
+    public String toString() {
+      return this.site.type.getName()
+          + " at "
+          + this.site.frame
+          + ": "
+          + this.count
+          + String.format(" (%.2f/s)", this.rate);
+    }
+  }
+
+  /** Exception type and the frame it was thrown from. */
+  private static final class Site {
+    private final Class<? extends Throwable> type;
+    private final StackTraceElement frame;
+
+    @Contract(pure = true)
+    private Site(final Class<? extends Throwable> type, final StackTraceElement frame) {
+      this.type = type;
+      this.frame = frame;
+    }
+
+    private static Site of(final Throwable cause) {
+      final StackTraceElement[] trace = cause.getStackTrace();
+      return new Site(cause.getClass(), trace.length == 0 ? null : trace[0]);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.type, this.frame);
+    }
+
+    @Override
+    @Contract(value = "null -> false", pure = true)
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o instanceof Site) {
+        final Site site = (Site) o;
+        return this.type == site.type && Objects.equals(this.frame, site.frame);
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link FairScheduler} shares an {@link Executor} between several lanes, each an {@link
+ * ExecutorService} of its own, so that a lane flooded with tasks can't starve the others. At most
+ * {@code parallelism} tasks of all lanes run at once on the executor; whenever one finishes, the
+ * next task is picked by deficit round robin over the lanes with queued tasks, every lane taking as
+ * many turns per round as its weight. Within a lane, tasks run in submission order.
+ *
+ * <pre>{@code
+ * final FairScheduler scheduler = FairScheduler.of(executor, 16);
+ * final ExecutorService interactive = scheduler.lane(8);
+ * final ExecutorService bulk = scheduler.lane(1);
+ *
+ * try (final Syndicate<Report> syndicate = Syndicate.init(bulk)) {
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>Shutting a lane down only stops that lane; the executor is left to its owner.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class FairScheduler {
+
+  /** Runs the tasks of every lane. */
+  private final Executor executor;
+
+  /** Maximum number of tasks running at once on the executor. */
+  private final int parallelism;
+
+  /** Lanes with queued tasks, the one whose turn it is first. Guarded by {@code this}. */
+  private final ArrayDeque<Lane> active = new ArrayDeque<>();
+
+  /** Number of workers draining the lanes on the executor. Guarded by {@code this}. */
+  private int workers;
+
+  /**
+   * Sealed.
+   *
+   * @param executor runs the tasks of every lane
+   * @param parallelism maximum number of tasks running at once
+   */
+  @Contract(pure = true)
+  private FairScheduler(final Executor executor, final int parallelism) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Creates a scheduler running at most {@code parallelism} tasks at once on the {@code executor}.
+   *
+   * @param executor runs the tasks of every lane
+   * @param parallelism maximum number of tasks running at once on the executor
+   * @return new instance of {@link FairScheduler}
+   * @throws IllegalArgumentException if {@code parallelism} is less than 1
+   */
+  @Contract("_, _ -> new")
+  public static @NotNull FairScheduler of(final Executor executor, final int parallelism) {
+    Objects.requireNonNull(executor, "executor cannot be null");
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be at least 1");
+    }
+    return new FairScheduler(executor, parallelism);
+  }
+
+  /**
+   * Creates a lane of the scheduler. When every lane has queued tasks, a lane of weight 4 gets four
+   * times as many tasks started as a lane of weight 1.
+   *
+   * @param weight share of the executor given to the lane
+   * @return new {@link ExecutorService}, to pass to {@link Syndicate#init(ExecutorService)}
+   * @throws IllegalArgumentException if {@code weight} is less than 1
+   */
+  @Contract("_ -> new")
+  public @NotNull ExecutorService lane(final int weight) {
+    if (weight < 1) {
+      throw new IllegalArgumentException("weight must be at least 1");
+    }
+    return new Lane(weight);
+  }
+
+  /**
+   * Queues a task in its lane and starts a worker if the executor has room for one.
+   *
+   * @param lane lane of the task
+   * @param task the task
+   */
+  private void submit(final Lane lane, final Runnable task) {
+    synchronized (this) {
+      if (lane.shutdown) {
+        throw new RejectedExecutionException("Lane has been shut down");
+      }
+      if (lane.queue.isEmpty()) {
+        this.active.addLast(lane);
+      }
+      lane.queue.addLast(task);
+      if (this.workers >= this.parallelism) {
+        return;
+      }
+      this.workers++;
+    }
+    try {
+      this.executor.execute(new Worker());
+    } catch (final RuntimeException e) {
+      synchronized (this) {
+        this.workers--;
+        if (lane.queue.removeLastOccurrence(task) && lane.queue.isEmpty()) {
+          this.active.remove(lane);
+          lane.deficit = 0;
+        }
+      }
+      throw e instanceof RejectedExecutionException ? e : new RejectedExecutionException(e);
+    }
+  }
+
+  /**
+   * Hands the next task to a worker, picked by deficit round robin.
+   *
+   * @param worker the worker, holding the task it just ran
+   * @return {@code true} if the worker got a task, {@code false} if it has to stop
+   */
+  private synchronized boolean next(final Worker worker) {
+    final Lane finished = worker.lane;
+    if (Objects.nonNull(finished) && --finished.running == 0 && finished.isTerminated()) {
+      this.notifyAll();
+    }
+    final Lane lane = this.active.peekFirst();
+    worker.lane = lane;
+    if (Objects.isNull(lane)) {
+      this.workers--;
+      return false;
+    }
+    if (lane.deficit <= 0) {
+      lane.deficit += lane.weight;
+    }
+    lane.deficit--;
+    lane.running++;
+    worker.task = lane.queue.pollFirst();
+    if (lane.queue.isEmpty()) {
+      this.active.pollFirst();
+      lane.deficit = 0;
+    } else if (lane.deficit <= 0) {
+      this.active.addLast(this.active.pollFirst());
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "FairScheduler{"
+        + "executor="
+        + this.executor
+        + ", parallelism="
+        + this.parallelism
+        + '}';
+  }
+
+  /** Runs queued tasks on the executor until none is left. */
+  private final class Worker implements Runnable {
+
+    /** Lane of the current task. */
+    private Lane lane;
+
+    private Runnable task;
+
+    @Override
+    public void run() {
+      while (FairScheduler.this.next(this)) {
+        try {
+          this.task.run();
+        } catch (final RuntimeException | Error e) {
+          final Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+      }
+    }
+  }
+
+  /** A lane of the scheduler. Its state is guarded by the scheduler. */
+  private final class Lane extends AbstractExecutorService {
+
+    /** Turns taken per round. */
+    private final int weight;
+
+    /** Queued tasks. */
+    private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+
+    /** Turns left in the current round. */
+    private int deficit;
+
+    /** Number of tasks running. */
+    private int running;
+
+    private boolean shutdown;
+
+    @Contract(pure = true)
+    private Lane(final int weight) {
+      this.weight = weight;
+    }
+
+    @Override
+    public void execute(final @NotNull Runnable command) {
+      Objects.requireNonNull(command, "command cannot be null");
+      FairScheduler.this.submit(this, command);
+    }
+
+    @Override
+    public void shutdown() {
+      synchronized (FairScheduler.this) {
+        this.shutdown = true;
+        if (this.isTerminated()) {
+          FairScheduler.this.notifyAll();
+        }
+      }
+    }
+
+    /** Queued tasks are removed and returned, running tasks are not interrupted. */
+    @Override
+    public @NotNull List<Runnable> shutdownNow() {
+      synchronized (FairScheduler.this) {
+        this.shutdown = true;
+        final List<Runnable> pending = new ArrayList<>(this.queue);
+        if (!this.queue.isEmpty()) {
+          this.queue.clear();
+          FairScheduler.this.active.remove(this);
+          this.deficit = 0;
+        }
+        if (this.isTerminated()) {
+          FairScheduler.this.notifyAll();
+        }
+        return pending;
+      }
+    }
+
+    @Override
+    public boolean isShutdown() {
+      synchronized (FairScheduler.this) {
+        return this.shutdown;
+      }
+    }
+
+    @Override
+    public boolean isTerminated() {
+      synchronized (FairScheduler.this) {
+        return this.shutdown && this.running == 0 && this.queue.isEmpty();
+      }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final @NotNull TimeUnit unit)
+        throws InterruptedException {
+      final long deadline = System.nanoTime() + unit.toNanos(timeout);
+      synchronized (FairScheduler.this) {
+        for (long left = unit.toNanos(timeout); !this.isTerminated(); ) {
+          if (left <= 0L) {
+            return false;
+          }
+          TimeUnit.NANOSECONDS.timedWait(FairScheduler.this, left);
+          left = deadline - System.nanoTime();
+        }
+        return true;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Lane{" + "weight=" + this.weight + ", shutdown=" + this.shutdown + '}';
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import art.cutils.function.Dealer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the hedged operations of {@link Try#hedge(Dealer, Duration, int, Executor)} and counts,
+ * across the process, how often hedging was triggered and how often a hedged attempt won.
+ *
+ * <p>A first attempt is started right away. Whenever no attempt completes within the hedge delay,
+ * or every running attempt has failed, another attempt is started, up to the maximum number of
+ * attempts. The first success is returned and the attempts still running are cancelled.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class Hedge {
+
+  /** Number of hedged operations. */
+  private static final LongAdder CALLS = new LongAdder();
+
+  /** Number of hedged operations which started more than one attempt. */
+  private static final LongAdder TRIGGERED = new LongAdder();
+
+  /** Number of hedged operations whose success came from an attempt other than the first. */
+  private static final LongAdder WON = new LongAdder();
+
+  /** Locked for life. */
+  @Contract(pure = true)
+  private Hedge() {}
+
+  /**
+   * Returns the number of hedged operations.
+   *
+   * @return the number of calls to {@link Try#hedge(Dealer, Duration, int, Executor)}
+   */
+  public static long getCalls() {
+    return CALLS.sum();
+  }
+
+  /**
+   * Returns the number of hedged operations which started more than one attempt.
+   *
+   * @return the number of operations for which hedging was triggered
+   */
+  public static long getTriggered() {
+    return TRIGGERED.sum();
+  }
+
+  /**
+   * Returns the number of hedged operations whose success came from an attempt other than the
+   * first.
+   *
+   * @return the number of operations won by a hedged attempt
+   */
+  public static long getWon() {
+    return WON.sum();
+  }
+
+  /**
+   * Hedges the operation.
+   *
+   * @param operation the operation to be tried
+   * @param delayNanos time to wait for a result before starting another attempt, in nanoseconds
+   * @param maxAttempts maximum number of attempts, including the first one
+   * @param executor runs the attempts
+   * @param <T> result type
+   * @return the first {@link Try} success, otherwise the failure of the last attempt to complete
+   */
+  static <T> @NotNull Try<T> run(
+      final Dealer<? extends T> operation,
+      final long delayNanos,
+      final int maxAttempts,
+      final Executor executor) {
+    CALLS.increment();
+    final BlockingQueue<Attempt<T>> completed = new LinkedBlockingQueue<>();
+    final List<Attempt<T>> attempts = new ArrayList<>(maxAttempts);
+    try {
+      Hedge.launch(operation, executor, attempts, completed);
+      int finished = 0;
+      Try<T> last = null;
+      while (true) {
+        final Attempt<T> next;
+        if (attempts.size() < maxAttempts) {
+          next = completed.poll(delayNanos, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            Hedge.launch(operation, executor, attempts, completed);
+            continue;
+          }
+        } else if (finished == attempts.size()) {
+          return last;
+        } else {
+          next = completed.take();
+        }
+        finished++;
+        final Try<T> result = next.result();
+        if (result.isSuccess()) {
+          if (next.index > 0) {
+            WON.increment();
+          }
+          return result;
+        }
+        last = result;
+        if (finished == attempts.size() && attempts.size() < maxAttempts) {
+          Hedge.launch(operation, executor, attempts, completed);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Try.failure(e);
+    } finally {
+      attempts.forEach(attempt -> attempt.cancel(true));
+    }
+  }
+
+  private static <T> void launch(
+      final Dealer<? extends T> operation,
+      final Executor executor,
+      final List<Attempt<T>> attempts,
+      final BlockingQueue<Attempt<T>> completed) {
+    final Attempt<T> attempt = new Attempt<>(operation, attempts.size(), completed);
+    attempts.add(attempt);
+    if (attempt.index == 1) {
+      TRIGGERED.increment();
+    }
+    try {
+      executor.execute(attempt);
+    } catch (final RejectedExecutionException e) {
+      attempt.reject(e);
+    }
+  }
+
+  /**
+   * A single attempt of a hedged operation which queues itself once done.
+   *
+   * @param <T> result type
+   */
+  private static final class Attempt<T> extends FutureTask<Try<T>> {
+    private final int index;
+    private final BlockingQueue<Attempt<T>> completed;
+
+    private Attempt(
+        final Dealer<? extends T> operation,
+        final int index,
+        final BlockingQueue<Attempt<T>> completed) {
+      super(() -> Try.of(operation));
+      this.index = index;
+      this.completed = completed;
+    }
+
+    private void reject(final RejectedExecutionException cause) {
+      this.set(Try.failure(cause));
+    }
+
+    private Try<T> result() throws InterruptedException {
+      try {
+        return this.get();
+      } catch (final ExecutionException e) {
+        return Try.failure(e.getCause());
+      }
+    }
+
+    @Override
+    protected void done() {
+      if (!this.isCancelled()) {
+        this.completed.add(this);
+      }
+    }
+  }
+}
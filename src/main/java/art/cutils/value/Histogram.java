@@ -0,0 +1,238 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values, such as durations in nanoseconds or
+ * sizes in bytes. Values are counted in log-linear buckets: 8 buckets per power of two, so a
+ * reported percentile is within 12.5% of the recorded value. Recording never allocates nor locks,
+ * and any number of threads can record while another reads a {@link Snapshot}.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class Histogram {
+
+  /** Bits of a value kept below its highest bit to pick a bucket. */
+  private static final int SUB_BITS = 3;
+
+  /** Buckets per power of two. */
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  /** Buckets needed to cover every non-negative {@code long}. */
+  private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+  /** Number of values per bucket. */
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  /** Number of values. */
+  private final LongAdder count = new LongAdder();
+
+  /** Sum of the values. */
+  private final LongAdder sum = new LongAdder();
+
+  /** Largest value. */
+  private final AtomicLong max = new AtomicLong();
+
+  /** Sealed. */
+  @Contract(pure = true)
+  private Histogram() {}
+
+  /**
+   * Creates an empty histogram.
+   *
+   * @return new instance of {@link Histogram}
+   */
+  @Contract(value = " -> new", pure = true)
+  public static @NotNull Histogram create() {
+    return new Histogram();
+  }
+
+  /**
+   * Records a value, negative values are recorded as 0.
+   *
+   * @param value the value to record
+   */
+  public void record(final long value) {
+    final long v = Math.max(0L, value);
+    this.buckets.incrementAndGet(Histogram.indexOf(v));
+    this.count.increment();
+    this.sum.add(v);
+    long current;
+    while (v > (current = this.max.get())) {
+      if (this.max.compareAndSet(current, v)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Returns the values recorded so far. Values recorded while the snapshot is taken may or may not
+   * be part of it.
+   *
+   * @return new instance of {@link Snapshot}
+   */
+  public @NotNull Snapshot snapshot() {
+    final long[] counts = new long[BUCKETS];
+    long total = 0L;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = this.buckets.get(i);
+      total += counts[i];
+    }
+    return new Snapshot(counts, total, this.sum.sum(), this.max.get());
+  }
+
+  /** Clears every value recorded. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      this.buckets.set(i, 0L);
+    }
+    this.count.reset();
+    this.sum.reset();
+    this.max.set(0L);
+  }
+
+  /**
+   * Returns the number of values recorded.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  private static int indexOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  private static long highestOf(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int shift = index / SUB_BUCKETS - 1;
+    final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1L;
+  }
+
+  @Override
+  public String toString() {
+    return "Histogram{" + this.snapshot() + '}';
+  }
+
+  /** The values of a {@link Histogram} at a point in time. */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    @Contract(pure = true)
+    private Snapshot(final long[] counts, final long count, final long sum, final long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    @Contract(pure = true)
+    public long getCount() {
+      return this.count;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the largest value, 0 if none was recorded
+     */
+    @Contract(pure = true)
+    public long getMax() {
+      return this.max;
+    }
+
+    /**
+     * Returns the average value.
+     *
+     * @return the mean, 0 if no value was recorded
+     */
+    @Contract(pure = true)
+    public double getMean() {
+      return this.count == 0L ? 0.0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * Returns the value below which the given share of the values fall.
+     *
+     * @param percentile the share, between 0 and 100
+     * @return the highest value of the bucket holding the percentile, capped at the largest value
+     */
+    public long getPercentile(final double percentile) {
+      if (percentile < 0.0 || percentile > 100.0) {
+        throw new IllegalArgumentException("percentile must be between 0 and 100");
+      }
+      if (this.count == 0L) {
+        return 0L;
+      }
+      final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * this.count));
+      long seen = 0L;
+      for (int i = 0; i < this.counts.length; i++) {
+        seen += this.counts[i];
+        if (seen >= rank) {
+          return Math.min(Histogram.highestOf(i), this.max);
+        }
+      }
+      return this.max;
+    }
+
+    @Override
+    public String toString() {
+      return "count="
+          + this.count
+          + ", mean="
+          + this.getMean()
+          + ", p50="
+          + this.getPercentile(50.0)
+          + ", p99="
+          + this.getPercentile(99.0)
+          + ", max="
+          + this.max;
+    }
+  }
+}
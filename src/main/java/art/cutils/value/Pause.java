@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -226,6 +227,39 @@ public final class Pause<T> {
       return new Delay<>(this.timeOut, this.timeUnit);
     }
 
+    /**
+     * Runs the {@link Executable} once the pause is over, without blocking the current thread. The
+     * pause is spent on a virtual thread on Java 21 and later, otherwise on a shared timer.
+     *
+     * @param executable the operation to run after the pause
+     * @return a {@link CompletableFuture} completed with the {@link Try} of the operation
+     * @since 2.5
+     */
+    @Contract("_ -> new")
+    public @NotNull CompletableFuture<Try<T>> thenRunAsync(final Executable executable) {
+      Objects.requireNonNull(executable, "executable cannot be null");
+      final CompletableFuture<Try<T>> future = new CompletableFuture<>();
+      Threads.delay(
+          this.timeUnit.toNanos(this.timeOut), () -> future.complete(Try.of(executable)));
+      return future;
+    }
+
+    /**
+     * Runs the {@link Dealer} once the pause is over, without blocking the current thread.
+     *
+     * @param dealer the operation to run after the pause
+     * @return a {@link CompletableFuture} completed with the {@link Try} of the operation
+     * @see #thenRunAsync(Executable)
+     * @since 2.5
+     */
+    @Contract("_ -> new")
+    public @NotNull CompletableFuture<Try<T>> thenRunAsync(final Dealer<T> dealer) {
+      Objects.requireNonNull(dealer, "dealer cannot be null");
+      final CompletableFuture<Try<T>> future = new CompletableFuture<>();
+      Threads.delay(this.timeUnit.toNanos(this.timeOut), () -> future.complete(Try.of(dealer)));
+      return future;
+    }
+
     @Override
     public int hashCode() {
       return Objects.hash(this.timeOut, this.timeUnit);
@@ -26,16 +26,26 @@ package art.cutils.value;
 import art.cutils.function.Accepter;
 import art.cutils.function.Dealer;
 import art.cutils.function.Executable;
+import art.cutils.function.ThrowingUnaryOperation;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * This is {@link Que} gotten from the word Cue. This is intended to give you the ability to
@@ -60,10 +70,24 @@ public final class Que<T> implements Serializable {
    */
   private final transient T value;
 
+  /**
+   * Records the stages of an instrumented chain, {@code null} when not instrumented.
+   *
+   * @since 2.5
+   */
+  private final transient QueTimings timings;
+
+  /**
+   * Name under which the next stage is recorded, {@code null} for the method name.
+   *
+   * @since 2.5
+   */
+  private final transient String stage;
+
   /** Constructs an empty instance. */
   @Contract(pure = true)
   private Que() {
-    this.value = null;
+    this(null);
   }
 
   /**
@@ -73,7 +97,21 @@ public final class Que<T> implements Serializable {
    */
   @Contract(pure = true)
   private Que(final T value) {
+    this(value, null, null);
+  }
+
+  /**
+   * Constructs an instrumented instance with the described value.
+   *
+   * @param value the value to describe
+   * @param timings records the stages, {@code null} when not instrumented
+   * @param stage name of the next stage, {@code null} for the method name
+   */
+  @Contract(pure = true)
+  private Que(final T value, final QueTimings timings, final String stage) {
     this.value = value;
+    this.timings = timings;
+    this.stage = stage;
   }
 
   /**
@@ -174,21 +212,170 @@ public final class Que<T> implements Serializable {
     return Que.getInstance();
   }
 
+  /**
+   * This method starts a {@link Blueprint}: a {@link Que} chain described once, then compiled into
+   * a {@link Pipeline} and run over as many values as needed. Stages mirror the {@link Que}
+   * operations but are only recorded, nothing runs until the pipeline is applied to a value.
+   *
+   * <pre>{@code
+   * final Que.Pipeline<Order> handle =
+   *     Que.<Order>blueprint().andAccept(validator::check).andConsume(repository::save).compile();
+   * orders.forEach(order -> handle.apply(order));
+   * }</pre>
+   *
+   * @param <T> Type of value
+   * @return new instance of {@link Blueprint}
+   * @since 2.5
+   */
+  @Contract(value = " -> new", pure = true)
+  public static <T> @NotNull Blueprint<T> blueprint() {
+    return new Blueprint<>();
+  }
+
+  /**
+   * This method will run {@link Que} stages over many values, in micro-batches. Item stages run on
+   * every value, batch stages run once per batch, which suits sinks able to write in bulk.
+   *
+   * <pre>{@code
+   * final long handled =
+   *     Que.stream(events).batchSize(500).flushEvery(Duration.ofMillis(50))
+   *         .andAccept(validator::check)
+   *         .andAcceptBatch(repository::saveAll)
+   *         .execute();
+   * }</pre>
+   *
+   * @param values the values to run the stages over
+   * @param <T> Type of value
+   * @return new instance of {@link Batched}
+   * @since 2.5
+   */
+  @Contract(value = "_ -> new", pure = true)
+  public static <T> @NotNull Batched<T> stream(final Iterable<? extends T> values) {
+    Objects.requireNonNull(values, "values cannot be null");
+    return new Batched<>(values.iterator(), null);
+  }
+
+  /**
+   * This method will run {@link Que} stages over the values of a {@link Stream}, in micro-batches.
+   * The stream is closed once every batch has run.
+   *
+   * @param values the values to run the stages over
+   * @param <T> Type of value
+   * @return new instance of {@link Batched}
+   * @see #stream(Iterable)
+   * @since 2.5
+   */
+  @Contract(value = "_ -> new", pure = true)
+  public static <T> @NotNull Batched<T> stream(final Stream<? extends T> values) {
+    Objects.requireNonNull(values, "values cannot be null");
+    return new Batched<>(values.iterator(), values);
+  }
+
+  /**
+   * This method will record the wall time and allocation of every following stage of the chain in
+   * {@code timings}. Stages are recorded under their method name, such as {@code andConsume}, or
+   * under the name given with {@link #named(String)}. Chains not instrumented don't pay for it.
+   *
+   * <p>Asynchronous stages are recorded as well, once they complete, on the thread that ran them.
+   * Their wall time excludes the time spent waiting for the executor.
+   *
+   * @param timings records the stages
+   * @return new instance of {@link Que} with the same value
+   * @since 2.5
+   */
+  @Contract(value = "_ -> new", pure = true)
+  public @NotNull Que<T> instrument(final QueTimings timings) {
+    Objects.requireNonNull(timings, "timings cannot be null");
+    return new Que<>(this.value, timings, null);
+  }
+
+  /**
+   * This method will name the next stage of an instrumented chain. It does nothing on a chain that
+   * is not instrumented, so stages can be named whether or not they are timed.
+   *
+   * @param stage the name under which the next stage is recorded
+   * @return instance of {@link Que} with the same value
+   * @see #instrument(QueTimings)
+   * @since 2.5
+   */
+  @Contract(pure = true)
+  public @NotNull Que<T> named(final String stage) {
+    Objects.requireNonNull(stage, "stage cannot be null");
+    return Objects.isNull(this.timings) ? this : new Que<>(this.value, this.timings, stage);
+  }
+
+  /**
+   * Runs a stage of an instrumented chain and records it.
+   *
+   * @param method the name of the {@link Que} method running the stage
+   * @param operation the stage, returning the next value
+   * @return instance of {@link Que} holding the next value
+   */
+  private @NotNull Que<T> timed(final String method, final Supplier<? extends T> operation) {
+    final long bytes = QueTimings.allocatedBytes();
+    final long start = System.nanoTime();
+    try {
+      return this.next(operation.get());
+    } finally {
+      this.record(method, start, bytes);
+    }
+  }
+
+  /**
+   * Runs a stage of an instrumented chain that may throw and records it.
+   *
+   * @param method the name of the {@link Que} method running the stage
+   * @param operation the stage, returning the next value
+   * @return instance of {@link Que} holding the next value
+   * @throws Exception any exception thrown by the stage
+   */
+  private @NotNull Que<T> timedDeal(final String method, final Dealer<? extends T> operation)
+      throws Exception {
+    final long bytes = QueTimings.allocatedBytes();
+    final long start = System.nanoTime();
+    try {
+      return this.next(operation.deal());
+    } finally {
+      this.record(method, start, bytes);
+    }
+  }
+
+  private void record(final String method, final long start, final long bytes) {
+    final long nanos = System.nanoTime() - start;
+    this.timings.record(
+        Objects.isNull(this.stage) ? method : this.stage,
+        nanos,
+        QueTimings.allocatedBytes() - bytes);
+  }
+
+  private @NotNull Que<T> next(final T value) {
+    return value == this.value && Objects.isNull(this.stage)
+        ? this
+        : new Que<>(value, this.timings, null);
+  }
+
   /**
    * This method will consume execute {@link Consumer} type variable.
    *
    * @param consumer {@link Consumer} type variable.
-   * @return existing instance of the {@link Que}
+   * @return existing instance of {@link Que}, or a new one with the same value when the stage
+   *     is {@link #named(String) named} on an instrumented chain
    * @since 1.0
    */
-  @Contract("_ -> this")
-  public Que<T> run(final Consumer<? super T> consumer) {
-    return this.consumer(consumer);
+  public @NotNull Que<T> run(final Consumer<? super T> consumer) {
+    return this.consumer("run", consumer);
   }
 
-  @Contract("_ -> this")
-  private Que<T> consumer(final Consumer<? super T> consumer) {
+  private Que<T> consumer(final String method, final Consumer<? super T> consumer) {
     Objects.requireNonNull(consumer, "consumer cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timed(
+          method,
+          () -> {
+            consumer.accept(this.value);
+            return this.value;
+          });
+    }
     consumer.accept(this.value);
     return this;
   }
@@ -197,17 +384,25 @@ public final class Que<T> implements Serializable {
    * This method will Accept and execute {@link Accepter} type variable.
    *
    * @param accepter {@link Accepter} type variable.
-   * @return existing instance of the {@link Que}
+   * @return existing instance of {@link Que}, or a new one with the same value when the stage
+   *     is {@link #named(String) named} on an instrumented chain
    * @since 1.0
    */
-  @Contract("_ -> this")
-  public Que<T> execute(final Accepter<? super T> accepter) throws Exception {
-    return this.accepter(accepter);
+  public @NotNull Que<T> execute(final Accepter<? super T> accepter) throws Exception {
+    return this.accepter("execute", accepter);
   }
 
-  @Contract("_ -> this")
-  private Que<T> accepter(final Accepter<? super T> accepter) throws Exception {
+  private Que<T> accepter(final String method, final Accepter<? super T> accepter)
+      throws Exception {
     Objects.requireNonNull(accepter, "accepter cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timedDeal(
+          method,
+          () -> {
+            accepter.accept(this.value);
+            return this.value;
+          });
+    }
     accepter.accept(this.value);
     return this;
   }
@@ -216,12 +411,20 @@ public final class Que<T> implements Serializable {
    * This method will execute a {@link Runnable} type variable.
    *
    * @param runnable {@link Runnable} type variable
-   * @return existing instance of {@link Que}
+   * @return existing instance of {@link Que}, or a new one with the same value when the stage
+   *     is {@link #named(String) named} on an instrumented chain
    * @since 1.0
    */
-  @Contract("_ -> this")
-  public Que<T> andRun(final Runnable runnable) {
+  public @NotNull Que<T> andRun(final Runnable runnable) {
     Objects.requireNonNull(runnable, "runnable cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timed(
+          "andRun",
+          () -> {
+            runnable.run();
+            return this.value;
+          });
+    }
     runnable.run();
     return this;
   }
@@ -230,13 +433,21 @@ public final class Que<T> implements Serializable {
    * Use when Operation will throw an exception.
    *
    * @param executable {@link Executable} type variable
-   * @return existing instance of {@link Que}
+   * @return existing instance of {@link Que}, or a new one with the same value when the stage
+   *     is {@link #named(String) named} on an instrumented chain
    * @throws Exception instance of any exception thrown.
    * @since 1.0
    */
-  @Contract("_ -> this")
-  public Que<T> andExecute(final Executable executable) throws Exception {
+  public @NotNull Que<T> andExecute(final Executable executable) throws Exception {
     Objects.requireNonNull(executable, "executable cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timedDeal(
+          "andExecute",
+          () -> {
+            executable.execute();
+            return this.value;
+          });
+    }
     executable.execute();
     return this;
   }
@@ -250,6 +461,9 @@ public final class Que<T> implements Serializable {
    */
   public @NotNull Que<T> andSupply(final Supplier<? extends T> supplier) {
     Objects.requireNonNull(supplier, "supplier cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timed("andSupply", supplier);
+    }
     return Que.createReference(supplier.get());
   }
 
@@ -263,6 +477,9 @@ public final class Que<T> implements Serializable {
    */
   public @NotNull Que<T> andDeal(final Dealer<? extends T> dealer) throws Exception {
     Objects.requireNonNull(dealer, "dealer cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timedDeal("andDeal", dealer);
+    }
     return Que.createReference(dealer.deal());
   }
 
@@ -270,12 +487,12 @@ public final class Que<T> implements Serializable {
    * This method will consume a {@link Consumer} type variable.
    *
    * @param consumer {@link Consumer} type variable
-   * @return existing instance of {@link Que}
+   * @return existing instance of {@link Que}, or a new one with the same value when the stage
+   *     is {@link #named(String) named} on an instrumented chain
    * @since 1.0
    */
-  @Contract("_ -> this")
-  public Que<T> andConsume(final Consumer<? super T> consumer) {
-    return this.consumer(consumer);
+  public @NotNull Que<T> andConsume(final Consumer<? super T> consumer) {
+    return this.consumer("andConsume", consumer);
   }
 
   /**
@@ -283,12 +500,12 @@ public final class Que<T> implements Serializable {
    * and {@link Exception}
    *
    * @param accepter {@link Consumer} type variable
-   * @return existing instance of {@link Que}
+   * @return existing instance of {@link Que}, or a new one with the same value when the stage
+   *     is {@link #named(String) named} on an instrumented chain
    * @since 1.0
    */
-  @Contract("_ -> this")
-  public Que<T> andAccept(final Accepter<? super T> accepter) throws Exception {
-    return this.accepter(accepter);
+  public @NotNull Que<T> andAccept(final Accepter<? super T> accepter) throws Exception {
+    return this.accepter("andAccept", accepter);
   }
 
   /**
@@ -301,9 +518,96 @@ public final class Que<T> implements Serializable {
    */
   public @NotNull Que<T> andCall(final Callable<? extends T> callable) throws Exception {
     Objects.requireNonNull(callable, "callable cannot be null");
+    if (Objects.nonNull(this.timings)) {
+      return this.timedDeal("andCall", callable::call);
+    }
     return Que.createReference(callable.call());
   }
 
+  /**
+   * This method will supply the next value on the {@code executor}, without blocking the current
+   * thread. The chain carries on asynchronously from the returned {@link Async}.
+   *
+   * @param supplier {@link Supplier} variable
+   * @param executor runs the supplier
+   * @return new instance of {@link Async}
+   * @since 2.5
+   */
+  @Contract("_, _ -> new")
+  public @NotNull Async<T> andSupplyAsync(
+      final Supplier<? extends T> supplier, final Executor executor) {
+    return Async.of(this.value, this.timings, this.stage).andSupplyAsync(supplier, executor);
+  }
+
+  /**
+   * This method will supply the next value on a virtual thread when available, otherwise on the
+   * common pool.
+   *
+   * @param supplier {@link Supplier} variable
+   * @return new instance of {@link Async}
+   * @since 2.5
+   */
+  @Contract("_ -> new")
+  public @NotNull Async<T> andSupplyAsync(final Supplier<? extends T> supplier) {
+    return this.andSupplyAsync(supplier, Threads.async());
+  }
+
+  /**
+   * This method will run a {@link Runnable} on the {@code executor}, without blocking the current
+   * thread. The chain carries on asynchronously from the returned {@link Async}.
+   *
+   * @param runnable {@link Runnable} type variable
+   * @param executor runs the runnable
+   * @return new instance of {@link Async}
+   * @since 2.5
+   */
+  @Contract("_, _ -> new")
+  public @NotNull Async<T> andRunAsync(final Runnable runnable, final Executor executor) {
+    return Async.of(this.value, this.timings, this.stage).andRunAsync(runnable, executor);
+  }
+
+  /**
+   * This method will run a {@link Runnable} on a virtual thread when available, otherwise on the
+   * common pool.
+   *
+   * @param runnable {@link Runnable} type variable
+   * @return new instance of {@link Async}
+   * @since 2.5
+   */
+  @Contract("_ -> new")
+  public @NotNull Async<T> andRunAsync(final Runnable runnable) {
+    return this.andRunAsync(runnable, Threads.async());
+  }
+
+  /**
+   * This method will accept the value with an {@link Accepter} on the {@code executor}, without
+   * blocking the current thread. The chain carries on asynchronously from the returned {@link
+   * Async}.
+   *
+   * @param accepter {@link Accepter} type variable
+   * @param executor runs the accepter
+   * @return new instance of {@link Async}
+   * @since 2.5
+   */
+  @Contract("_, _ -> new")
+  public @NotNull Async<T> andAcceptAsync(
+      final Accepter<? super T> accepter, final Executor executor) {
+    return Async.of(this.value, this.timings, this.stage).andAcceptAsync(accepter, executor);
+  }
+
+  /**
+   * This method will accept the value with an {@link Accepter} on a virtual thread when
+   * available, otherwise on the common pool.
+   *
+   * @param accepter {@link Accepter} type variable
+   * @return new instance of {@link Async}
+   * @since 2.5
+   */
+  @Contract("_ -> new")
+  public @NotNull Async<T> andAcceptAsync(final Accepter<? super T> accepter) {
+    return this.andAcceptAsync(accepter, Threads.async());
+  }
+
   /**
    * Used to get the current set value.
    *
@@ -354,4 +658,631 @@ public final class Que<T> implements Serializable {
       return false;
     }
   }
+
+  /**
+   * Describes a {@link Que} chain without running it. Every stage is recorded in order; {@link
+   * #compile()} then copies them into a {@link Pipeline}.
+   *
+   * @param <T> type.
+   * @since 2.5
+   */
+  public static final class Blueprint<T> {
+
+    /** The recorded stages, in order. */
+    private final List<ThrowingUnaryOperation<T>> stages = new ArrayList<>();
+
+    /** Sealed. */
+    @Contract(pure = true)
+    private Blueprint() {}
+
+    /**
+     * Records a {@link Consumer} stage, like {@link Que#run(Consumer)}.
+     *
+     * @param consumer {@link Consumer} type variable.
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> run(final Consumer<? super T> consumer) {
+      return this.andConsume(consumer);
+    }
+
+    /**
+     * Records an {@link Accepter} stage, like {@link Que#execute(Accepter)}.
+     *
+     * @param accepter {@link Accepter} type variable.
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> execute(final Accepter<? super T> accepter) {
+      return this.andAccept(accepter);
+    }
+
+    /**
+     * Records a {@link Runnable} stage, like {@link Que#andRun(Runnable)}.
+     *
+     * @param runnable {@link Runnable} type variable
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andRun(final Runnable runnable) {
+      Objects.requireNonNull(runnable, "runnable cannot be null");
+      return this.stage(
+          value -> {
+            runnable.run();
+            return value;
+          });
+    }
+
+    /**
+     * Records an {@link Executable} stage, like {@link Que#andExecute(Executable)}.
+     *
+     * @param executable {@link Executable} type variable
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andExecute(final Executable executable) {
+      Objects.requireNonNull(executable, "executable cannot be null");
+      return this.stage(
+          value -> {
+            executable.execute();
+            return value;
+          });
+    }
+
+    /**
+     * Records a {@link Supplier} stage replacing the value, like {@link Que#andSupply(Supplier)}.
+     *
+     * @param supplier {@link Supplier} variable
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andSupply(final Supplier<? extends T> supplier) {
+      Objects.requireNonNull(supplier, "supplier cannot be null");
+      return this.stage(value -> supplier.get());
+    }
+
+    /**
+     * Records a {@link Dealer} stage replacing the value, like {@link Que#andDeal(Dealer)}.
+     *
+     * @param dealer {@link Dealer} variable
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andDeal(final Dealer<? extends T> dealer) {
+      Objects.requireNonNull(dealer, "dealer cannot be null");
+      return this.stage(value -> dealer.deal());
+    }
+
+    /**
+     * Records a {@link Consumer} stage, like {@link Que#andConsume(Consumer)}.
+     *
+     * @param consumer {@link Consumer} type variable
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andConsume(final Consumer<? super T> consumer) {
+      Objects.requireNonNull(consumer, "consumer cannot be null");
+      return this.stage(
+          value -> {
+            consumer.accept(value);
+            return value;
+          });
+    }
+
+    /**
+     * Records an {@link Accepter} stage, like {@link Que#andAccept(Accepter)}.
+     *
+     * @param accepter {@link Accepter} type variable
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andAccept(final Accepter<? super T> accepter) {
+      Objects.requireNonNull(accepter, "accepter cannot be null");
+      return this.stage(
+          value -> {
+            accepter.accept(value);
+            return value;
+          });
+    }
+
+    /**
+     * Records a {@link Callable} stage replacing the value, like {@link Que#andCall(Callable)}.
+     *
+     * @param callable {@link Callable} type variable.
+     * @return existing instance of {@link Blueprint}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Blueprint<T> andCall(final Callable<? extends T> callable) {
+      Objects.requireNonNull(callable, "callable cannot be null");
+      return this.stage(value -> callable.call());
+    }
+
+    @Contract(value = "_ -> this", mutates = "this")
+    private Blueprint<T> stage(final ThrowingUnaryOperation<T> stage) {
+      this.stages.add(stage);
+      return this;
+    }
+
+    /**
+     * Compiles the recorded stages into a {@link Pipeline}. The blueprint can still be extended and
+     * compiled again afterwards, without affecting the pipelines already compiled.
+     *
+     * @return new instance of {@link Pipeline}
+     */
+    @Contract(" -> new")
+    public @NotNull Pipeline<T> compile() {
+      return Pipeline.of(this.stages);
+    }
+  }
+
+  /**
+   * A compiled {@link Que} chain. The stages are copied into an array when compiled and applied in
+   * a single loop, so applying the pipeline to a value allocates no intermediate {@link Que} and
+   * the call depth does not grow with the number of stages. A pipeline holds no state of its own
+   * and can be applied from any number of threads.
+   *
+   * @param <T> type.
+   * @since 2.5
+   */
+  public static final class Pipeline<T> implements ThrowingUnaryOperation<T> {
+
+    /** Every stage, in order. */
+    private final ThrowingUnaryOperation<T>[] stages;
+
+    @Contract(pure = true)
+    private Pipeline(final ThrowingUnaryOperation<T>[] stages) {
+      this.stages = stages;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Contract("_ -> new")
+    private static <T> @NotNull Pipeline<T> of(final List<ThrowingUnaryOperation<T>> stages) {
+      return new Pipeline<>(stages.toArray(new ThrowingUnaryOperation[0]));
+    }
+
+    /**
+     * Runs every stage, in order, starting from {@code value}.
+     *
+     * @param value the value the chain starts from
+     * @return the value left by the last stage
+     * @throws Exception any exception thrown by a stage
+     */
+    @Override
+    public T apply(final T value) throws Exception {
+      T result = value;
+      for (final ThrowingUnaryOperation<T> stage : this.stages) {
+        result = stage.apply(result);
+      }
+      return result;
+    }
+
+    /**
+     * Runs every stage, in order, starting from {@code value}, and wraps the outcome.
+     *
+     * @param value the value the chain starts from
+     * @return instance of {@link Que} holding the value left by the last stage
+     * @throws Exception any exception thrown by a stage
+     */
+    public @NotNull Que<T> que(final T value) throws Exception {
+      return Que.createReference(this.apply(value));
+    }
+
+    /**
+     * Returns the number of stages of the pipeline.
+     *
+     * @return the number of stages
+     */
+    @Contract(pure = true)
+    public int size() {
+      return this.stages.length;
+    }
+
+    @Override
+    public String toString() {
+      return "Pipeline{" + "size=" + this.stages.length + '}';
+    }
+  }
+
+  /**
+   * An asynchronous {@link Que} chain. Every stage runs once the previous one completes, on its own
+   * executor, and no thread waits in between. A stage failure skips the following stages and
+   * completes the chain exceptionally.
+   *
+   * @param <T> type.
+   * @since 2.5
+   */
+  public static final class Async<T> {
+
+    /** Completes with the value of the last stage. */
+    private final CompletableFuture<T> future;
+
+    /** Records the stages of an instrumented chain, {@code null} when not instrumented. */
+    private final QueTimings timings;
+
+    /** Name under which the next stage is recorded, {@code null} for the method name. */
+    private final String stage;
+
+    @Contract(pure = true)
+    private Async(final CompletableFuture<T> future, final QueTimings timings, final String stage) {
+      this.future = future;
+      this.timings = timings;
+      this.stage = stage;
+    }
+
+    @Contract("_, _, _ -> new")
+    private static <T> @NotNull Async<T> of(
+        final T value, final QueTimings timings, final String stage) {
+      return new Async<>(CompletableFuture.completedFuture(value), timings, stage);
+    }
+
+    /**
+     * Runs the next stage on the {@code executor}, recording it when the chain is instrumented.
+     *
+     * @param method the name of the {@link Async} method running the stage
+     * @param operation the stage, returning the next value
+     * @param executor runs the stage
+     * @return new instance of {@link Async}
+     */
+    private @NotNull Async<T> then(
+        final String method,
+        final Function<? super T, ? extends T> operation,
+        final Executor executor) {
+      if (Objects.isNull(this.timings)) {
+        return new Async<>(this.future.thenApplyAsync(operation, executor), null, null);
+      }
+      final QueTimings recorder = this.timings;
+      final String name = Objects.isNull(this.stage) ? method : this.stage;
+      return new Async<>(
+          this.future.thenApplyAsync(
+              value -> {
+                final long bytes = QueTimings.allocatedBytes();
+                final long start = System.nanoTime();
+                try {
+                  return operation.apply(value);
+                } finally {
+                  recorder.record(
+                      name, System.nanoTime() - start, QueTimings.allocatedBytes() - bytes);
+                }
+              },
+              executor),
+          recorder,
+          null);
+    }
+
+    /**
+     * This method will supply the next value on the {@code executor}.
+     *
+     * @param supplier {@link Supplier} variable
+     * @param executor runs the supplier
+     * @return new instance of {@link Async}
+     */
+    @Contract("_, _ -> new")
+    public @NotNull Async<T> andSupplyAsync(
+        final Supplier<? extends T> supplier, final Executor executor) {
+      Objects.requireNonNull(supplier, "supplier cannot be null");
+      Objects.requireNonNull(executor, "executor cannot be null");
+      return this.then("andSupplyAsync", value -> supplier.get(), executor);
+    }
+
+    /**
+     * This method will supply the next value on a virtual thread when available, otherwise on the
+     * common pool.
+     *
+     * @param supplier {@link Supplier} variable
+     * @return new instance of {@link Async}
+     */
+    @Contract("_ -> new")
+    public @NotNull Async<T> andSupplyAsync(final Supplier<? extends T> supplier) {
+      return this.andSupplyAsync(supplier, Threads.async());
+    }
+
+    /**
+     * This method will run a {@link Runnable} on the {@code executor}.
+     *
+     * @param runnable {@link Runnable} type variable
+     * @param executor runs the runnable
+     * @return new instance of {@link Async}
+     */
+    @Contract("_, _ -> new")
+    public @NotNull Async<T> andRunAsync(final Runnable runnable, final Executor executor) {
+      Objects.requireNonNull(runnable, "runnable cannot be null");
+      Objects.requireNonNull(executor, "executor cannot be null");
+      return this.then(
+          "andRunAsync",
+          value -> {
+            runnable.run();
+            return value;
+          },
+          executor);
+    }
+
+    /**
+     * This method will run a {@link Runnable} on a virtual thread when available, otherwise on the
+     * common pool.
+     *
+     * @param runnable {@link Runnable} type variable
+     * @return new instance of {@link Async}
+     */
+    @Contract("_ -> new")
+    public @NotNull Async<T> andRunAsync(final Runnable runnable) {
+      return this.andRunAsync(runnable, Threads.async());
+    }
+
+    /**
+     * This method will accept the value with an {@link Accepter} on the {@code executor}.
+     *
+     * @param accepter {@link Accepter} type variable
+     * @param executor runs the accepter
+     * @return new instance of {@link Async}
+     */
+    @Contract("_, _ -> new")
+    public @NotNull Async<T> andAcceptAsync(
+        final Accepter<? super T> accepter, final Executor executor) {
+      Objects.requireNonNull(accepter, "accepter cannot be null");
+      Objects.requireNonNull(executor, "executor cannot be null");
+      return this.then(
+          "andAcceptAsync",
+          value -> {
+            try {
+              accepter.accept(value);
+            } catch (final Exception e) {
+              throw new CompletionException(e);
+            }
+            return value;
+          },
+          executor);
+    }
+
+    /**
+     * This method will accept the value with an {@link Accepter} on a virtual thread when
+     * available, otherwise on the common pool.
+     *
+     * @param accepter {@link Accepter} type variable
+     * @return new instance of {@link Async}
+     */
+    @Contract("_ -> new")
+    public @NotNull Async<T> andAcceptAsync(final Accepter<? super T> accepter) {
+      return this.andAcceptAsync(accepter, Threads.async());
+    }
+
+    /**
+     * Waits for the last stage and returns its value.
+     *
+     * @return the value of the last stage
+     * @throws Exception the exception thrown by the failed stage
+     */
+    public T get() throws Exception {
+      try {
+        return this.future.get();
+      } catch (final ExecutionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw e;
+      }
+    }
+
+    /**
+     * Used to get the {@link CompletableFuture} completed by the last stage.
+     *
+     * @return {@link CompletableFuture} of the value of the last stage
+     */
+    @Contract(pure = true)
+    public @NotNull CompletableFuture<T> completableFuture() {
+      return this.future;
+    }
+
+    @Override
+    public String toString() {
+      return "Async{" + "future=" + this.future + '}';
+    }
+  }
+
+  /**
+   * {@link Que} stages run over many values in micro-batches. A batch is handed to the stages once
+   * it holds {@code batchSize} values, once {@code flushEvery} has elapsed since its first value
+   * arrived, or when the values run out. The flush time is checked as values arrive, a source
+   * blocking on its next value is not interrupted.
+   *
+   * <p>Stages run in the order they are declared: item stages on every value of the batch, batch
+   * stages on the whole batch. Adjacent item stages are compiled into one {@link Pipeline},
+   * applied to every value in a single pass.
+   *
+   * @param <T> type.
+   * @since 2.5
+   */
+  public static final class Batched<T> {
+
+    /** The values. */
+    private final Iterator<? extends T> values;
+
+    /** Closed once every batch has run, if the values come from a {@link Stream}. */
+    private final AutoCloseable source;
+
+    /** The stages, each run over a whole batch. */
+    private final List<Accepter<List<T>>> stages = new ArrayList<>();
+
+    /** The item stages declared since the last batch stage. */
+    private final List<ThrowingUnaryOperation<T>> pending = new ArrayList<>();
+
+    /** Maximum number of values per batch. */
+    private int batchSize = 100;
+
+    /** Longest time a batch waits for more values, in nanoseconds; 0 means no limit. */
+    private long flushNanos = 0L;
+
+    @Contract(pure = true)
+    private Batched(final Iterator<? extends T> values, final AutoCloseable source) {
+      this.values = values;
+      this.source = source;
+    }
+
+    /**
+     * Use to set the maximum number of values per batch, 100 by default.
+     *
+     * @param batchSize maximum number of values per batch, at least 1
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> batchSize(final int batchSize) {
+      if (batchSize < 1) {
+        throw new IllegalArgumentException("batchSize must be at least 1");
+      }
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Use to hand a batch to the stages once it has waited long enough for more values.
+     *
+     * @param flushEvery longest time a batch waits for more values, zero for no limit
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> flushEvery(final Duration flushEvery) {
+      Objects.requireNonNull(flushEvery, "flushEvery cannot be null");
+      if (flushEvery.isNegative()) {
+        throw new IllegalArgumentException("flushEvery cannot be negative");
+      }
+      this.flushNanos = flushEvery.toNanos();
+      return this;
+    }
+
+    /**
+     * Adds an item stage consuming every value, like {@link Que#andConsume(Consumer)}.
+     *
+     * @param consumer {@link Consumer} type variable
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> andConsume(final Consumer<? super T> consumer) {
+      Objects.requireNonNull(consumer, "consumer cannot be null");
+      return this.andApply(
+          value -> {
+            consumer.accept(value);
+            return value;
+          });
+    }
+
+    /**
+     * Adds an item stage accepting every value, like {@link Que#andAccept(Accepter)}.
+     *
+     * @param accepter {@link Accepter} type variable
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> andAccept(final Accepter<? super T> accepter) {
+      Objects.requireNonNull(accepter, "accepter cannot be null");
+      return this.andApply(
+          value -> {
+            accepter.accept(value);
+            return value;
+          });
+    }
+
+    /**
+     * Adds an item stage replacing every value with the result of the operation, for instance a
+     * compiled {@link Pipeline}.
+     *
+     * @param operation the operation applied to every value
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> andApply(final ThrowingUnaryOperation<T> operation) {
+      Objects.requireNonNull(operation, "operation cannot be null");
+      this.pending.add(operation);
+      return this;
+    }
+
+    /**
+     * Adds a batch stage consuming every batch.
+     *
+     * @param consumer {@link Consumer} of the batch
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> andConsumeBatch(final Consumer<? super List<T>> consumer) {
+      Objects.requireNonNull(consumer, "consumer cannot be null");
+      return this.andAcceptBatch(consumer::accept);
+    }
+
+    /**
+     * Adds a batch stage accepting every batch, for instance a bulk write.
+     *
+     * @param accepter {@link Accepter} of the batch
+     * @return existing instance of {@link Batched}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Batched<T> andAcceptBatch(final Accepter<? super List<T>> accepter) {
+      Objects.requireNonNull(accepter, "accepter cannot be null");
+      this.flushPending();
+      this.stages.add(accepter::accept);
+      return this;
+    }
+
+    /**
+     * Runs the stages over every value, batch after batch, on the current thread.
+     *
+     * @return the number of values the stages ran over
+     * @throws Exception the exception thrown by a stage, which stops the run
+     */
+    public long execute() throws Exception {
+      this.flushPending();
+      long count = 0L;
+      try {
+        while (this.values.hasNext()) {
+          final List<T> batch = this.nextBatch();
+          for (final Accepter<List<T>> stage : this.stages) {
+            stage.accept(batch);
+          }
+          count += batch.size();
+        }
+      } finally {
+        if (this.source != null) {
+          this.source.close();
+        }
+      }
+      return count;
+    }
+
+    private List<T> nextBatch() {
+      final List<T> batch = new ArrayList<>(Math.min(this.batchSize, 1024));
+      final long start = System.nanoTime();
+      while (batch.size() < this.batchSize && this.values.hasNext()) {
+        batch.add(this.values.next());
+        if (this.flushNanos > 0L && System.nanoTime() - start >= this.flushNanos) {
+          break;
+        }
+      }
+      return batch;
+    }
+
+    /** Turns the item stages declared since the last batch stage into a single batch stage. */
+    private void flushPending() {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+      final Pipeline<T> items = Pipeline.of(this.pending);
+      this.pending.clear();
+      this.stages.add(
+          batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+              batch.set(i, items.apply(batch.get(i)));
+            }
+          });
+    }
+
+    @Override
+    public String toString() {
+      return "Batched{"
+          + "batchSize="
+          + this.batchSize
+          + ", flushNanos="
+          + this.flushNanos
+          + ", stages="
+          + this.stages.size()
+          + '}';
+    }
+  }
 }
@@ -0,0 +1,223 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects the wall time and the allocation of every stage of the {@link Que} chains instrumented
+ * with it, see {@link Que#instrument(QueTimings)}. Each stage name gets its own pair of {@link
+ * Histogram}s, readable at any time with {@link #snapshot()}.
+ *
+ * <pre>{@code
+ * final QueTimings timings = QueTimings.create();
+ * Que.of(order).instrument(timings)
+ *     .named("validate").andAccept(validator::check)
+ *     .named("save").andConsume(repository::save);
+ * timings.snapshot().get("save").getWallTime().getPercentile(99.0);
+ * }</pre>
+ *
+ * <p>Allocation is read from the per-thread counters of the JVM and is only recorded where {@link
+ * #isAllocationMeasured()} holds; it includes whatever else the stage thread allocated meanwhile.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class QueTimings {
+
+  /** Per-thread allocation counters, {@code null} if the JVM does not offer them. */
+  private static final com.sun.management.ThreadMXBean ALLOCATION = QueTimings.allocation();
+
+  /** Recorders by stage name. */
+  private final ConcurrentMap<String, Recorder> stages = new ConcurrentHashMap<>();
+
+  /** Sealed. */
+  @Contract(pure = true)
+  private QueTimings() {}
+
+  /**
+   * Creates an empty set of timings.
+   *
+   * @return new instance of {@link QueTimings}
+   */
+  @Contract(value = " -> new", pure = true)
+  public static @NotNull QueTimings create() {
+    return new QueTimings();
+  }
+
+  /**
+   * Tells whether the JVM measures the allocation of each thread.
+   *
+   * @return {@code true} if stage allocation is recorded
+   */
+  public static boolean isAllocationMeasured() {
+    return Objects.nonNull(ALLOCATION);
+  }
+
+  private static com.sun.management.ThreadMXBean allocation() {
+    try {
+      final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      if (threads instanceof com.sun.management.ThreadMXBean) {
+        final com.sun.management.ThreadMXBean counters = (com.sun.management.ThreadMXBean) threads;
+        if (counters.isThreadAllocatedMemorySupported()
+            && counters.isThreadAllocatedMemoryEnabled()) {
+          return counters;
+        }
+      }
+    } catch (final RuntimeException | LinkageError e) {
+      // the management API is unavailable, allocation is not recorded.
+    }
+    return null;
+  }
+
+  /**
+   * Returns the bytes allocated so far by the current thread.
+   *
+   * @return the allocated bytes, 0 if not measured
+   */
+  static long allocatedBytes() {
+    return Objects.isNull(ALLOCATION)
+        ? 0L
+        : ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Records one run of a stage.
+   *
+   * @param stage the stage name
+   * @param nanos the wall time of the run
+   * @param bytes the bytes allocated by the run
+   */
+  void record(final String stage, final long nanos, final long bytes) {
+    final Recorder recorder = this.stages.computeIfAbsent(stage, name -> new Recorder());
+    recorder.wallTime.record(nanos);
+    if (Objects.nonNull(ALLOCATION)) {
+      recorder.allocation.record(bytes);
+    }
+  }
+
+  /**
+   * Returns the timings recorded so far.
+   *
+   * @return the stages by name, sorted by name
+   */
+  public @NotNull Map<String, Stage> snapshot() {
+    final Map<String, Stage> snapshot = new TreeMap<>();
+    this.stages.forEach(
+        (name, recorder) ->
+            snapshot.put(
+                name,
+                new Stage(
+                    name, recorder.wallTime.snapshot(), recorder.allocation.snapshot())));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /** Clears every stage recorded. */
+  public void reset() {
+    this.stages.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "QueTimings{" + "stages=" + this.snapshot() + '}';
+  }
+
+  /** Histograms of one stage. */
+  private static final class Recorder {
+    private final Histogram wallTime = Histogram.create();
+    private final Histogram allocation = Histogram.create();
+  }
+
+  /** The timings of one stage at a point in time. */
+  public static final class Stage {
+    private final String name;
+    private final Histogram.Snapshot wallTime;
+    private final Histogram.Snapshot allocation;
+
+    @Contract(pure = true)
+    private Stage(
+        final String name,
+        final Histogram.Snapshot wallTime,
+        final Histogram.Snapshot allocation) {
+      this.name = name;
+      this.wallTime = wallTime;
+      this.allocation = allocation;
+    }
+
+    /**
+     * Returns the stage name: the one given with {@link Que#named(String)}, otherwise the name of
+     * the {@link Que} method.
+     *
+     * @return the stage name
+     */
+    @Contract(pure = true)
+    public String getName() {
+      return this.name;
+    }
+
+    /**
+     * Returns the wall time of the stage runs, in nanoseconds.
+     *
+     * @return the wall time histogram
+     */
+    @Contract(pure = true)
+    public Histogram.Snapshot getWallTime() {
+      return this.wallTime;
+    }
+
+    /**
+     * Returns the bytes allocated by the stage runs, empty unless {@link
+     * QueTimings#isAllocationMeasured()}.
+     *
+     * @return the allocation histogram
+     */
+    @Contract(pure = true)
+    public Histogram.Snapshot getAllocation() {
+      return this.allocation;
+    }
+
+    @Override
+    public String toString() {
+      return "Stage{"
+          + "name='"
+          + this.name
+          + '\''
+          + ", wallTime={"
+          + this.wallTime
+          + "}, allocation={"
+          + this.allocation
+          + "}}";
+    }
+  }
+}
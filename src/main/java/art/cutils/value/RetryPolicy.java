@@ -0,0 +1,326 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import art.cutils.function.Dealer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Describes how {@link Try#retry(Dealer, RetryPolicy)} should repeat a failed operation: how many
+ * attempts are made, how long to back off between them, which failures are worth retrying and how
+ * long the whole operation may take.
+ *
+ * <p>The delay before attempt {@code n + 1} is {@code initialDelay * multiplier^(n - 1)}, capped
+ * at {@code maxDelay}, then spread by a random factor within {@code ±jitter} so that callers
+ * failing together don't retry together.
+ *
+ * <p>A policy keeps no state between calls, the attempts of each call are counted by the call
+ * itself, so a single policy can serve every call to a dependency. Its setters are not
+ * synchronized: build it completely before it is published, e.g. to a {@code static final} field.
+ *
+ * <pre>{@code
+ * final Try<String> body =
+ *     Try.retry(
+ *         () -> client.fetch(url),
+ *         RetryPolicy.of(5)
+ *             .backoff(Duration.ofMillis(50), 2.0)
+ *             .retryOn(cause -> cause instanceof IOException)
+ *             .deadline(Duration.ofSeconds(2)));
+ * }</pre>
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class RetryPolicy {
+
+  /** Maximum number of attempts, including the first one. */
+  private final int maxAttempts;
+
+  /** Delay before the second attempt, in nanoseconds. */
+  private long initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(100L);
+
+  /** Growth factor applied to the delay after every failed attempt. */
+  private double multiplier = 2.0;
+
+  /** Upper bound of a single delay, in nanoseconds. */
+  private long maxDelayNanos = TimeUnit.SECONDS.toNanos(10L);
+
+  /** Fraction of the delay by which it is randomly spread, between 0 and 1. */
+  private double jitter = 0.2;
+
+  /** Decides if a failure is worth another attempt. */
+  private Predicate<? super Throwable> retryOn = cause -> true;
+
+  /** Overall time allowed for all attempts and delays, in nanoseconds; 0 means unbounded. */
+  private long deadlineNanos = 0L;
+
+  /**
+   * Sealed.
+   *
+   * @param maxAttempts maximum number of attempts
+   */
+  @Contract(pure = true)
+  private RetryPolicy(final int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Creates a policy which makes at most {@code maxAttempts} attempts, backing off exponentially
+   * from 100 milliseconds, doubling up to 10 seconds with 20% jitter and retrying every failure.
+   *
+   * @param maxAttempts maximum number of attempts, including the first one
+   * @return new instance of {@link RetryPolicy}
+   * @throws IllegalArgumentException if {@code maxAttempts} is less than 1
+   */
+  @Contract(value = "_ -> new", pure = true)
+  public static @NotNull RetryPolicy of(final int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    return new RetryPolicy(maxAttempts);
+  }
+
+  /**
+   * Use to set the exponential backoff between attempts.
+   *
+   * @param initialDelay delay before the second attempt
+   * @param multiplier growth factor applied to the delay after every failed attempt, at least 1
+   * @return current instance of {@link RetryPolicy}
+   */
+  @Contract(value = "_, _ -> this", mutates = "this")
+  public RetryPolicy backoff(final Duration initialDelay, final double multiplier) {
+    Objects.requireNonNull(initialDelay, "initialDelay cannot be null");
+    if (initialDelay.isNegative() || multiplier < 1.0) {
+      throw new IllegalArgumentException("initialDelay must be positive and multiplier at least 1");
+    }
+    this.initialDelayNanos = initialDelay.toNanos();
+    this.multiplier = multiplier;
+    return this;
+  }
+
+  /**
+   * Use to cap a single delay between attempts.
+   *
+   * @param maxDelay the longest delay between two attempts
+   * @return current instance of {@link RetryPolicy}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public RetryPolicy maxDelay(final Duration maxDelay) {
+    Objects.requireNonNull(maxDelay, "maxDelay cannot be null");
+    if (maxDelay.isNegative()) {
+      throw new IllegalArgumentException("maxDelay cannot be negative");
+    }
+    this.maxDelayNanos = maxDelay.toNanos();
+    return this;
+  }
+
+  /**
+   * Use to set the random spread of the delays, {@code 0} disables the jitter.
+   *
+   * @param jitter fraction of the delay by which it is randomly spread, between 0 and 1
+   * @return current instance of {@link RetryPolicy}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public RetryPolicy jitter(final double jitter) {
+    if (jitter < 0.0 || jitter > 1.0) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1");
+    }
+    this.jitter = jitter;
+    return this;
+  }
+
+  /**
+   * Use to restrict the failures that are retried, any other failure is returned immediately.
+   *
+   * @param retryOn returns {@code true} for the failure causes worth another attempt
+   * @return current instance of {@link RetryPolicy}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public RetryPolicy retryOn(final Predicate<? super Throwable> retryOn) {
+    this.retryOn = Objects.requireNonNull(retryOn, "retryOn cannot be null");
+    return this;
+  }
+
+  /**
+   * Use to bound the time spent on all attempts and delays. No attempt is started if its delay
+   * would end past the deadline; the last failure is returned instead.
+   *
+   * @param deadline overall time allowed, measured from the first attempt
+   * @return current instance of {@link RetryPolicy}
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public RetryPolicy deadline(final Duration deadline) {
+    Objects.requireNonNull(deadline, "deadline cannot be null");
+    if (deadline.isNegative() || deadline.isZero()) {
+      throw new IllegalArgumentException("deadline must be positive");
+    }
+    this.deadlineNanos = deadline.toNanos();
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of attempts.
+   *
+   * @return the maximum number of attempts, including the first one
+   */
+  @Contract(pure = true)
+  public int getMaxAttempts() {
+    return this.maxAttempts;
+  }
+
+  /**
+   * Tries the operation until it succeeds or the policy gives up, sleeping the current thread
+   * between attempts.
+   *
+   * @param operation the operation to be tried
+   * @param <T> result type
+   * @return the first {@link Try} success, otherwise the last failure
+   */
+  <T> @NotNull Try<T> retry(final Dealer<? extends T> operation) {
+    final long start = System.nanoTime();
+    for (int attempt = 1; ; attempt++) {
+      final Try<T> result = Try.of(operation);
+      final long delay = this.nextDelay(result, attempt, start);
+      if (delay < 0L) {
+        return result;
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(delay);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        e.addSuppressed(result.getCause());
+        return Try.failure(e);
+      }
+    }
+  }
+
+  /**
+   * Tries the operation until it succeeds or the policy gives up. Attempts run on the {@code
+   * scheduler} and delays are scheduled on it, no thread is blocked while backing off.
+   *
+   * @param operation the operation to be tried
+   * @param scheduler runs the attempts and times the delays between them
+   * @param <T> result type
+   * @return future completed with the first {@link Try} success, otherwise the last failure
+   */
+  <T> @NotNull CompletableFuture<Try<T>> retryAsync(
+      final Dealer<? extends T> operation, final ScheduledExecutorService scheduler) {
+    final CompletableFuture<Try<T>> future = new CompletableFuture<>();
+    final long start = System.nanoTime();
+    try {
+      scheduler.execute(() -> this.attempt(operation, scheduler, future, 1, start));
+    } catch (final RejectedExecutionException e) {
+      future.complete(Try.failure(e));
+    }
+    return future;
+  }
+
+  private <T> void attempt(
+      final Dealer<? extends T> operation,
+      final ScheduledExecutorService scheduler,
+      final CompletableFuture<Try<T>> future,
+      final int attempt,
+      final long start) {
+    if (future.isDone()) {
+      return;
+    }
+    final Try<T> result = Try.of(operation);
+    final long delay = this.nextDelay(result, attempt, start);
+    if (delay < 0L) {
+      future.complete(result);
+      return;
+    }
+    try {
+      scheduler.schedule(
+          () -> this.attempt(operation, scheduler, future, attempt + 1, start),
+          delay,
+          TimeUnit.NANOSECONDS);
+    } catch (final RejectedExecutionException e) {
+      future.complete(result);
+    }
+  }
+
+  /**
+   * Works out the delay before the next attempt.
+   *
+   * @param result the result of the attempt just made
+   * @param attempt the number of the attempt just made, starting at 1
+   * @param start {@link System#nanoTime()} of the first attempt
+   * @return the delay in nanoseconds, or {@code -1} if no further attempt should be made
+   */
+  private long nextDelay(final Try<?> result, final int attempt, final long start) {
+    if (result.isSuccess() || attempt >= this.maxAttempts || !this.retryOn.test(result.getCause())) {
+      return -1L;
+    }
+    final long delay = this.delayNanos(attempt);
+    if (this.deadlineNanos > 0L && System.nanoTime() - start + delay >= this.deadlineNanos) {
+      return -1L;
+    }
+    return delay;
+  }
+
+  /**
+   * Computes the jittered exponential delay after a failed attempt.
+   *
+   * @param attempt the number of the failed attempt, starting at 1
+   * @return the delay in nanoseconds
+   */
+  long delayNanos(final int attempt) {
+    final double exponential = this.initialDelayNanos * Math.pow(this.multiplier, attempt - 1.0);
+    final double capped = Math.min(exponential, this.maxDelayNanos);
+    if (this.jitter == 0.0) {
+      return (long) capped;
+    }
+    final double spread = ThreadLocalRandom.current().nextDouble(-this.jitter, this.jitter);
+    return (long) Math.max(0.0, capped * (1.0 + spread));
+  }
+
+  @Override
+  public String toString() {
+    return "RetryPolicy{"
+        + "maxAttempts="
+        + this.maxAttempts
+        + ", initialDelayNanos="
+        + this.initialDelayNanos
+        + ", multiplier="
+        + this.multiplier
+        + ", maxDelayNanos="
+        + this.maxDelayNanos
+        + ", jitter="
+        + this.jitter
+        + ", deadlineNanos="
+        + this.deadlineNanos
+        + '}';
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The process-wide pool behind {@link Syndicate#shared()}. It is created with the first lease, has
+ * a bounded number of daemon threads which exit once idle, and is shut down when no lease was held
+ * for a keep-alive period, to be created again by the next lease.
+ *
+ * <p>A lease is an {@link ExecutorService} of its own: shutting it down, as {@link
+ * Syndicate#close()} does, gives its reference back and leaves the pool to the other leases.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+final class SharedPool {
+
+  /** Maximum number of threads of the pool. */
+  static final int THREADS = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+
+  /** How long an idle thread, or the unreferenced pool, is kept, in nanoseconds. */
+  private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(60L);
+
+  /** Numbers the threads of the pool. */
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  /** The pool, {@code null} until first leased or once retired. Guarded by the class. */
+  private static ThreadPoolExecutor pool;
+
+  /** Number of leases not given back. Guarded by the class. */
+  private static int references;
+
+  /** Incremented whenever the last lease is given back, so that only the last retirement runs. */
+  private static int generation;
+
+  /** Locked for life. */
+  @Contract(pure = true)
+  private SharedPool() {}
+
+  /**
+   * Takes a reference to the pool, creating it if needed.
+   *
+   * @return new lease of the pool, to be shut down once no longer used
+   */
+  static synchronized @NotNull ExecutorService lease() {
+    if (Objects.isNull(SharedPool.pool)) {
+      SharedPool.pool = SharedPool.create();
+    }
+    SharedPool.references++;
+    return new Lease(SharedPool.pool);
+  }
+
+  private static synchronized void release() {
+    if (--SharedPool.references == 0) {
+      final int retiring = ++SharedPool.generation;
+      Threads.timer()
+          .schedule(() -> SharedPool.retire(retiring), KEEP_ALIVE_NANOS, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static synchronized void retire(final int retiring) {
+    if (SharedPool.references == 0
+        && SharedPool.generation == retiring
+        && Objects.nonNull(SharedPool.pool)) {
+      SharedPool.pool.shutdown();
+      SharedPool.pool = null;
+    }
+  }
+
+  private static @NotNull ThreadPoolExecutor create() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            THREADS,
+            THREADS,
+            KEEP_ALIVE_NANOS,
+            TimeUnit.NANOSECONDS,
+            new LinkedBlockingQueue<>(),
+            task -> {
+              final Thread thread =
+                  new Thread(task, "cutils-shared-" + THREAD_COUNT.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * A reference to the pool. Its tasks are not tracked: it is terminated as soon as it is shut
+   * down, while tasks already handed to the pool run to completion.
+   */
+  private static final class Lease extends AbstractExecutorService {
+    private final ExecutorService pool;
+    private volatile boolean released;
+
+    @Contract(pure = true)
+    private Lease(final ExecutorService pool) {
+      this.pool = pool;
+    }
+
+    @Override
+    public void execute(final @NotNull Runnable command) {
+      if (this.released) {
+        throw new RejectedExecutionException("Lease of the shared pool has been released");
+      }
+      this.pool.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+      synchronized (this) {
+        if (this.released) {
+          return;
+        }
+        this.released = true;
+      }
+      SharedPool.release();
+    }
+
+    @Override
+    public @NotNull List<Runnable> shutdownNow() {
+      this.shutdown();
+      return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return this.released;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return this.released;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final @NotNull TimeUnit unit) {
+      return this.released;
+    }
+
+    @Override
+    public String toString() {
+      return "Lease{" + "released=" + this.released + '}';
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs keyed tasks on a shared {@link Executor} so that tasks with the same key run one at a time,
+ * in the order they were handed over, while tasks with different keys run in parallel.
+ *
+ * <p>Keys are hashed onto a fixed number of stripes, each a lock-free serial queue drained by one
+ * pool thread at a time; there is no lock, thread nor state per key. Keys sharing a stripe are
+ * serialised together, so there are several stripes per processor to keep that rare.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+final class Stripes {
+
+  /** Runs the stripes. */
+  private final Executor executor;
+
+  /** The stripes, a power of two of them. */
+  private final Stripe[] stripes;
+
+  /**
+   * Sealed.
+   *
+   * @param executor runs the stripes
+   * @param count the number of stripes, a power of two
+   */
+  private Stripes(final Executor executor, final int count) {
+    this.executor = executor;
+    this.stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      this.stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * Creates stripes running on the {@code executor}, four per available processor.
+   *
+   * @param executor runs the stripes
+   * @return new instance of {@link Stripes}
+   */
+  @Contract("_ -> new")
+  static @NotNull Stripes of(final Executor executor) {
+    final int wanted = 4 * Runtime.getRuntime().availableProcessors();
+    return new Stripes(executor, Integer.highestOneBit(wanted - 1) << 1);
+  }
+
+  /**
+   * Wraps the task so that {@link Dispatch} runs it on the stripe of its key.
+   *
+   * @param key the key of the task
+   * @param task the task
+   * @param <T> the type of the value from the task
+   * @return the keyed task
+   */
+  <T> @NotNull Callable<T> keyed(final Object key, final Callable<T> task) {
+    return new Keyed<>(this.stripes[Stripes.indexOf(key, this.stripes.length)], task);
+  }
+
+  private static int indexOf(final Object key, final int count) {
+    final int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & (count - 1);
+  }
+
+  /**
+   * Runs the runnable of a task: on the stripe of its key if it is keyed, otherwise directly on
+   * the {@code executor}.
+   *
+   * @param executor runs the tasks which are not keyed
+   * @param task the task
+   * @param runnable runs the task
+   */
+  static void launch(final Executor executor, final Callable<?> task, final Runnable runnable) {
+    if (task instanceof Keyed) {
+      ((Keyed<?>) task).stripe.execute(runnable);
+    } else {
+      executor.execute(runnable);
+    }
+  }
+
+  /**
+   * Wraps a task, keeping it bound to the stripe of its key if it has one.
+   *
+   * @param task the task
+   * @param wrapper wraps the task
+   * @param <T> the type of the value from the task
+   * @return the wrapped task
+   */
+  static <T> @NotNull Callable<T> wrap(
+      final Callable<T> task, final UnaryOperator<Callable<T>> wrapper) {
+    if (task instanceof Keyed) {
+      final Keyed<T> keyed = (Keyed<T>) task;
+      return new Keyed<>(keyed.stripe, wrapper.apply(keyed.task));
+    }
+    return wrapper.apply(task);
+  }
+
+  @Override
+  public String toString() {
+    return "Stripes{" + "executor=" + this.executor + ", stripes=" + this.stripes.length + '}';
+  }
+
+  /**
+   * A task bound to the stripe of its key.
+   *
+   * @param <T> the type of the value from the task
+   */
+  private static final class Keyed<T> implements Callable<T> {
+    private final Stripe stripe;
+    private final Callable<T> task;
+
+    @Contract(pure = true)
+    private Keyed(final Stripe stripe, final Callable<T> task) {
+      this.stripe = stripe;
+      this.task = task;
+    }
+
+    @Override
+    public T call() throws Exception {
+      return this.task.call();
+    }
+
+    @Override
+    public String toString() {
+      return "Keyed{" + "task=" + this.task + '}';
+    }
+  }
+
+  /** A runnable which can be failed without running, when the executor rejects it. */
+  interface Rejectable {
+
+    /**
+     * Completes the runnable with the rejection, without running it.
+     *
+     * @param cause the rejection
+     */
+    void reject(RejectedExecutionException cause);
+  }
+
+  /** A serial queue of runnables, drained on the executor by one thread at a time. */
+  private final class Stripe implements Runnable {
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    /** Runnables queued and not run yet; the drain is scheduled when it leaves 0. */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private void execute(final Runnable runnable) {
+      this.queue.offer(Objects.requireNonNull(runnable, "runnable cannot be null"));
+      if (this.pending.getAndIncrement() == 0) {
+        try {
+          Stripes.this.executor.execute(this);
+        } catch (final RejectedExecutionException e) {
+          if (this.queue.remove(runnable)) {
+            this.pending.decrementAndGet();
+          }
+          this.abandon(e);
+          throw e;
+        }
+      }
+    }
+
+    /**
+     * Fails the runnables queued behind the one being handed over once the executor refuses to
+     * drain them; the caller handing it over gets the rejection itself.
+     *
+     * @param cause why the executor refused the drain
+     */
+    private void abandon(final RejectedExecutionException cause) {
+      Runnable runnable;
+      while (Objects.nonNull(runnable = this.queue.poll())) {
+        if (runnable instanceof Rejectable) {
+          ((Rejectable) runnable).reject(cause);
+        } else if (runnable instanceof Future) {
+          ((Future<?>) runnable).cancel(false);
+        }
+        this.pending.decrementAndGet();
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        final Runnable runnable = this.queue.poll();
+        try {
+          runnable.run();
+        } catch (final RuntimeException e) {
+          // a failing runnable must not stall the ones queued after it
+        }
+      } while (this.pending.decrementAndGet() != 0);
+    }
+  }
+}
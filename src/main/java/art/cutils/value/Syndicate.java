@@ -24,22 +24,45 @@
 package art.cutils.value;
 
 import art.cutils.function.Accepter;
+import art.cutils.function.ThrowingFunction;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Syndicate simplifies and represent a specific operation of the Executor Service, InvokeAll. Use
@@ -71,9 +94,27 @@ public final class Syndicate<T> implements AutoCloseable {
   /** This list of task to be executed. */
   private final Collection<Callable<T>> taskList = new ArrayList<>();
 
+  /** Tasks fed lazily, pulled once after the ones of {@link #taskList}. */
+  private final List<Iterator<? extends Callable<T>>> sources = new ArrayList<>();
+
+  /** Streams feeding {@link #sources}, closed with the Syndicate. */
+  private final List<Stream<? extends Callable<T>>> streams = new ArrayList<>();
+
+  /** Maximum number of tasks running at once. */
+  private int maxInFlight = Integer.MAX_VALUE;
+
+  /** Serialises keyed tasks, created with the first of them. */
+  private Stripes stripes;
+
+  /** Records the execution of the tasks, if set. */
+  private SyndicateMetrics metrics;
+
+  /** Adjusts the number of tasks running at once, if set. */
+  private AdaptiveLimit limit;
+
   // Sealed constructor
   private Syndicate() {
-    this.es = Executors.newCachedThreadPool();
+    this.es = Threads.newPerTask();
   }
 
   // Sealed constructor
@@ -95,8 +136,38 @@ public final class Syndicate<T> implements AutoCloseable {
   }
 
   /**
-   * Creates a new instance of {@link Syndicate} with default {@link
-   * Executors#newCachedThreadPool()}
+   * Creates a new instance of {@link Syndicate} backed by a new {@link ForkJoinPool} of the given
+   * parallelism, for {@link Recursive} tasks added with {@link #addRecursive(Recursive)}: subtasks
+   * forked with {@link Fork#fork(Recursive)} go to the local queue of the worker forking them, idle
+   * workers steal them, and a worker joining a subtask runs other subtasks while it waits.
+   *
+   * @param parallelism the number of worker threads
+   * @param <T> the type of the values from the tasks
+   * @return new instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract("_ -> new")
+  public static <T> @NotNull Syndicate<T> forkJoin(final int parallelism) {
+    return new Syndicate<>(new ForkJoinPool(parallelism));
+  }
+
+  /**
+   * Creates a new instance of {@link Syndicate} backed by a new {@link ForkJoinPool} with one
+   * worker per available processor.
+   *
+   * @param <T> the type of the values from the tasks
+   * @return new instance of {@link Syndicate}
+   * @see #forkJoin(int)
+   * @since 2.5
+   */
+  @Contract(" -> new")
+  public static <T> @NotNull Syndicate<T> forkJoin() {
+    return Syndicate.forkJoin(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a new instance of {@link Syndicate} with a new virtual-thread-per-task executor on Java
+   * 21 and later, otherwise a new {@link Executors#newCachedThreadPool()}.
    *
    * @param <T> the type of the values from the tasks
    * @return new instance of {@link Syndicate}
@@ -106,6 +177,24 @@ public final class Syndicate<T> implements AutoCloseable {
     return new Syndicate<>();
   }
 
+  /**
+   * Creates a new instance of {@link Syndicate} running on a process-wide pool of bounded size,
+   * shared by every such Syndicate. The pool is created lazily and kept while referenced, so a
+   * Syndicate per request costs a small allocation rather than the start and stop of threads;
+   * closing the Syndicate gives its reference back and leaves the pool running.
+   *
+   * <p>Since the pool is bounded, tasks of shared Syndicates should not wait on the tasks of other
+   * shared Syndicates, which could then never start; use {@link #init()} for nested fan-outs.
+   *
+   * @param <T> the type of the values from the tasks
+   * @return new instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract(" -> new")
+  public static <T> @NotNull Syndicate<T> shared() {
+    return new Syndicate<>(SharedPool.lease());
+  }
+
   /**
    * Use to add a task of Callable type
    *
@@ -119,6 +208,229 @@ public final class Syndicate<T> implements AutoCloseable {
     return this;
   }
 
+  /**
+   * Use to add a task of Callable type which must complete within its own timeout, measured from
+   * the moment it starts. A task running longer is interrupted and fails with a {@link
+   * TimeoutException}, whatever the timeout of the {@link Conductor}. A task from {@link
+   * #keyed(Object, Callable)} keeps its key.
+   *
+   * @param callableTask instance of a {@link Callable}, the task to be executed as part of the
+   *     {@link Syndicate}
+   * @param timeout the maximum time the task may run
+   * @param unit the time unit of the timeout argument
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract("_, _, _ -> this")
+  public Syndicate<T> add(final Callable<T> callableTask, final long timeout, final TimeUnit unit) {
+    Objects.requireNonNull(callableTask, "callableTask cannot be null");
+    Objects.requireNonNull(unit, "unit cannot be null");
+    if (timeout <= 0L) {
+      throw new IllegalArgumentException("timeout must be positive");
+    }
+    final long timeoutNanos = unit.toNanos(timeout);
+    return this.add(Stripes.wrap(callableTask, task -> new Timed<>(task, timeoutNanos)));
+  }
+
+  /**
+   * Use to add a keyed task. Tasks with equal keys run one at a time, in the order they were added,
+   * while tasks with different keys run in parallel on the same {@link ExecutorService}; see
+   * {@link #keyed(Object, Callable)}.
+   *
+   * @param key the key of the task, such as an account identifier
+   * @param callableTask instance of a {@link Callable}, the task to be executed as part of the
+   *     {@link Syndicate}
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract("_, _ -> this")
+  public Syndicate<T> add(final Object key, final Callable<T> callableTask) {
+    return this.add(this.keyed(key, callableTask));
+  }
+
+  /**
+   * Binds a task to a key, for tasks fed lazily with {@link #addAll(Iterator)}. Keyed tasks of
+   * this {@link Syndicate} with equal keys run strictly in submission order, one at a time. Keys
+   * are hashed onto a fixed set of lock-free serial queues drained by the {@link ExecutorService},
+   * so no lock nor thread is held per key.
+   *
+   * <pre>{@code
+   * syndicate.addAll(events.map(event -> syndicate.keyed(event.account(), () -> apply(event))));
+   * }</pre>
+   *
+   * @param key the key of the task
+   * @param callableTask the task
+   * @return the keyed task, to be added to this {@link Syndicate} only
+   * @since 2.5
+   */
+  public @NotNull Callable<T> keyed(final Object key, final Callable<T> callableTask) {
+    Objects.requireNonNull(key, "key cannot be null");
+    Objects.requireNonNull(callableTask, "callableTask cannot be null");
+    if (Objects.isNull(this.stripes)) {
+      this.stripes = Stripes.of(this.es);
+    }
+    return this.stripes.keyed(key, callableTask);
+  }
+
+  /**
+   * Use to add a task able to fork subtasks into this {@link Syndicate} and join them. Meant for
+   * divide-and-conquer work with {@link #forkJoin()}; on any other executor, forked subtasks run on
+   * the thread joining them.
+   *
+   * @param recursiveTask the task to be executed as part of the {@link Syndicate}
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract("_ -> this")
+  public Syndicate<T> addRecursive(final Recursive<T> recursiveTask) {
+    Objects.requireNonNull(recursiveTask, "recursiveTask cannot be null");
+    final Fork fork = new Fork(this.es);
+    return this.add(() -> recursiveTask.compute(fork));
+  }
+
+  /**
+   * Use to add tasks fed lazily: they are pulled from the {@code tasks} iterator, after the tasks
+   * added one by one, only as running tasks complete. Together with {@link #maxInFlight(int)}, a
+   * source of any length runs in bounded memory and threads with {@link Conductor#onEach} and
+   * {@link Conductor#stream()}. The iterator is consumed once.
+   *
+   * @param tasks the tasks to be executed as part of the {@link Syndicate}
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract("_ -> this")
+  public Syndicate<T> addAll(final Iterator<? extends Callable<T>> tasks) {
+    this.sources.add(Objects.requireNonNull(tasks, "tasks cannot be null"));
+    return this;
+  }
+
+  /**
+   * Use to add tasks fed lazily from a {@link Stream}, which is closed along with the {@link
+   * Syndicate}.
+   *
+   * @param tasks the tasks to be executed as part of the {@link Syndicate}
+   * @return existing instance of {@link Syndicate}
+   * @see #addAll(Iterator)
+   * @since 2.5
+   */
+  @Contract("_ -> this")
+  public Syndicate<T> addAll(final Stream<? extends Callable<T>> tasks) {
+    Objects.requireNonNull(tasks, "tasks cannot be null");
+    this.streams.add(tasks);
+    return this.addAll(tasks.iterator());
+  }
+
+  /**
+   * Use to bound the number of tasks running at once, unbounded by default. Further tasks are only
+   * submitted as running ones complete, so the {@link ExecutorService} never holds more than
+   * {@code maxInFlight} of them. Configure it before applying the {@link Syndicate}.
+   *
+   * @param maxInFlight maximum number of tasks running at once
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public Syndicate<T> maxInFlight(final int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be at least 1");
+    }
+    this.maxInFlight = maxInFlight;
+    return this;
+  }
+
+  /**
+   * Use to let the number of tasks running at once follow their latency, within {@link
+   * #maxInFlight(int)} if set too. The {@code limit} can be shared by the Syndicates calling the
+   * same dependency. Configure it before applying the {@link Syndicate}.
+   *
+   * @param limit adjusts the number of tasks running at once
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public Syndicate<T> limit(final AdaptiveLimit limit) {
+    this.limit = Objects.requireNonNull(limit, "limit cannot be null");
+    return this;
+  }
+
+  /**
+   * Use to record the queue wait, execution time and outcome of every task to {@code metrics},
+   * which can be shared by several {@link Syndicate}s. Configure it before applying the {@link
+   * Syndicate}.
+   *
+   * @param metrics collects the measures of the tasks
+   * @return existing instance of {@link Syndicate}
+   * @since 2.5
+   */
+  @Contract(value = "_ -> this", mutates = "this")
+  public Syndicate<T> metrics(final SyndicateMetrics metrics) {
+    this.metrics = Objects.requireNonNull(metrics, "metrics cannot be null");
+    return this;
+  }
+
+  /**
+   * Returns the tasks added one by one, followed by the ones of the lazy sources, measured if
+   * {@link #metrics} is set.
+   *
+   * @return the tasks to be executed
+   */
+  private @NotNull Iterator<Callable<T>> tasks() {
+    final Iterator<Callable<T>> tasks = this.unmeasured();
+    if (Objects.isNull(this.metrics)) {
+      return tasks;
+    }
+    final SyndicateMetrics measures = this.metrics;
+    return new Iterator<Callable<T>>() {
+      @Override
+      public boolean hasNext() {
+        return tasks.hasNext();
+      }
+
+      @Override
+      public Callable<T> next() {
+        return Stripes.wrap(tasks.next(), measures::measure);
+      }
+    };
+  }
+
+  private @NotNull Iterator<Callable<T>> unmeasured() {
+    final Iterator<Callable<T>> added = this.taskList.iterator();
+    if (this.sources.isEmpty()) {
+      return added;
+    }
+    final Iterator<Iterator<? extends Callable<T>>> remaining = this.sources.iterator();
+    return new Iterator<Callable<T>>() {
+      private Iterator<? extends Callable<T>> current = added;
+
+      @Override
+      public boolean hasNext() {
+        while (!this.current.hasNext() && remaining.hasNext()) {
+          this.current = remaining.next();
+        }
+        return this.current.hasNext();
+      }
+
+      @Override
+      public Callable<T> next() {
+        if (!this.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return this.current.next();
+      }
+    };
+  }
+
+  /**
+   * Creates a {@link Graph} of tasks depending on one another, run by this {@link Syndicate}.
+   *
+   * @return new instance of {@link Graph}
+   * @since 2.5
+   */
+  @Contract(value = " -> new", pure = true)
+  public @NotNull Graph<T> graph() {
+    return new Graph<>(this);
+  }
+
   /**
    * Created the {@link Conductor} to initiate the processing of task in the Syndicate
    *
@@ -171,6 +483,7 @@ public final class Syndicate<T> implements AutoCloseable {
    */
   @Override
   public void close() {
+    this.streams.forEach(Stream::close);
     if (!this.es.isTerminated()) {
       this.es.shutdown();
     }
@@ -178,7 +491,11 @@ public final class Syndicate<T> implements AutoCloseable {
 
   @Override
   public int hashCode() {
-    return new HashCodeBuilder(17, 37).append(this.es).append(this.taskList).toHashCode();
+    return new HashCodeBuilder(17, 37)
+        .append(this.es)
+        .append(this.taskList)
+        .append(this.maxInFlight)
+        .toHashCode();
   }
 
   @Contract(value = "null -> false", pure = true)
@@ -193,6 +510,7 @@ public final class Syndicate<T> implements AutoCloseable {
       return new EqualsBuilder()
           .append(this.es, syndicate.es)
           .append(this.taskList, syndicate.taskList)
+          .append(this.maxInFlight, syndicate.maxInFlight)
           .isEquals();
     }
     return false;
@@ -205,6 +523,8 @@ public final class Syndicate<T> implements AutoCloseable {
         + this.es
         + ", callableTaskList="
         + this.taskList
+        + ", maxInFlight="
+        + this.maxInFlight
         + '}';
   }
 
@@ -226,6 +546,9 @@ public final class Syndicate<T> implements AutoCloseable {
     /** unit the time unit of the timeout argument */
     private TimeUnit unit;
 
+    /** Whether a failed task cancels its siblings. */
+    private boolean failFast;
+
     /**
      * Constructor with the {@link Syndicate} instance.
      *
@@ -246,6 +569,91 @@ public final class Syndicate<T> implements AutoCloseable {
       this.syndicate = syndicate;
     }
 
+    /**
+     * Use to cancel and interrupt every sibling task as soon as one fails, instead of waiting for
+     * all of them. Tasks not started yet never run. Applies to {@link #execute()}, {@link
+     * #onEach(Consumer)} and {@link #stream()}, where the cancelled tasks report a {@link
+     * CancellationException}.
+     *
+     * @return existing instance of {@link Conductor}
+     * @since 2.5
+     */
+    @Contract(value = " -> this", mutates = "this")
+    public Conductor<T> failFast() {
+      this.failFast = true;
+      return this;
+    }
+
+    /**
+     * Executes the given tasks and returns the first successful result, as {@link
+     * ExecutorService#invokeAny(Collection)} does, then cancels and interrupts the others.
+     *
+     * @return the first {@link Try} success; otherwise the last failure, a {@link TimeoutException}
+     *     failure if the timeout of the {@link Conductor} elapsed, or a {@link
+     *     NoSuchElementException} failure if there is no task
+     * @since 2.5
+     */
+    public @NotNull Try<T> firstSuccess() {
+      final Dispatch<T> dispatch = this.dispatch(false);
+      Try<T> last = Try.failure(new NoSuchElementException("No task to run."));
+      try {
+        while (dispatch.hasNext()) {
+          final Try<T> result = dispatch.next();
+          if (result.isSuccess()) {
+            return result;
+          }
+          last = result;
+        }
+      } finally {
+        dispatch.cancel();
+      }
+      return dispatch.isTimedOut()
+          ? Try.failure(new TimeoutException("No task succeeded in time."))
+          : last;
+    }
+
+    /**
+     * Executes the given tasks and gathers whatever results arrived by the timeout of the {@link
+     * Conductor}, without failing as a whole. Results are in the order of the tasks; the tasks
+     * still running at the timeout are cancelled and marked with a {@link TimeoutException}
+     * failure, like the tasks exceeding their own timeout.
+     *
+     * <p>Every task added one by one gets a result: a task never started is marked with a {@link
+     * TimeoutException} failure if the timeout elapsed first, otherwise with a {@link
+     * CancellationException} failure, as are the tasks cancelled by a failed one in {@link
+     * #failFast()} mode. Tasks of lazy sources are pulled only to be started, so those left in
+     * their source get no result.
+     *
+     * @return the {@link Try} result of each task, in the order the tasks were added
+     * @since 2.5
+     */
+    public @NotNull List<Try<T>> gather() {
+      final List<Try<T>> results = new ArrayList<>();
+      final Dispatch<T> dispatch = this.dispatch(this.failFast);
+      final Try<T> timedOut = Try.failure(new TimeoutException("Task did not complete in time."));
+      try {
+        while (dispatch.hasNext()) {
+          final Try<T> result = dispatch.next();
+          while (results.size() <= dispatch.index()) {
+            results.add(null);
+          }
+          results.set(dispatch.index(), dispatch.isExpired() ? timedOut : result);
+        }
+      } finally {
+        dispatch.cancel();
+      }
+      final Try<T> notStarted =
+          dispatch.isTimedOut()
+              ? Try.failure(new TimeoutException("Task did not start in time."))
+              : Try.failure(new CancellationException("Task was not started."));
+      final int known = Math.max(dispatch.submitted(), this.syndicate.taskList.size());
+      while (results.size() < known) {
+        results.add(null);
+      }
+      results.replaceAll(result -> Objects.isNull(result) ? notStarted : result);
+      return results;
+    }
+
     /**
      * Executes the given tasks, passes a list of Futures holding their status and results when all
      * complete to {@link Accepter}. Future.isDone is true for each element of the returned list.
@@ -264,7 +672,9 @@ public final class Syndicate<T> implements AutoCloseable {
     }
 
     /**
-     * Executes the given tasks, passes a list of Futures holding their status and results.
+     * Executes the given tasks, passes a list of Futures holding their status and results. With
+     * {@link Syndicate#maxInFlight(int)}, tasks are submitted as running ones complete; the list
+     * still holds a Future per task, prefer {@link #onEach(Consumer)} for long lazy sources.
      *
      * @return the {@link Try} list of Futures holding the status of the tasks
      */
@@ -273,6 +683,20 @@ public final class Syndicate<T> implements AutoCloseable {
       this.tryFutureList =
           Try.of(
               () -> {
+                if (this.failFast
+                    || this.syndicate.maxInFlight < Integer.MAX_VALUE
+                    || !this.syndicate.sources.isEmpty()
+                    || Objects.nonNull(this.syndicate.stripes)
+                    || Objects.nonNull(this.syndicate.metrics)
+                    || Objects.nonNull(this.syndicate.limit)) {
+                  return Dispatch.invokeAll(
+                      this.syndicate.es,
+                      this.syndicate.tasks(),
+                      this.syndicate.maxInFlight,
+                      this.timeoutNanos(),
+                      this.failFast,
+                      this.syndicate.limit);
+                }
                 if (this.timeout > 0L && Objects.nonNull(this.unit)) {
                   return this.syndicate.es.invokeAll(
                       this.syndicate.taskList, this.timeout, this.unit);
@@ -284,6 +708,66 @@ public final class Syndicate<T> implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Executes the given tasks and passes the result of each one to the {@code consumer} as soon
+     * as it completes, in completion order, unlike {@link #execute()} which waits for the slowest
+     * task. The consumer runs on the calling thread, while the remaining tasks carry on.
+     *
+     * <p>Tasks still running when the timeout of the {@link Conductor} elapses, or when the
+     * consumer throws, are cancelled; the cancelled ones are passed as {@link
+     * CancellationException} failures.
+     *
+     * @param consumer accepts the {@link Try} result of each task
+     * @return new instance of {@link Close}
+     * @since 2.5
+     */
+    @Contract("_ -> new")
+    public @NotNull Close<T> onEach(final @NotNull Consumer<? super Try<T>> consumer) {
+      Objects.requireNonNull(consumer, "consumer cannot be null");
+      final Dispatch<T> dispatch = this.dispatch(this.failFast);
+      try {
+        while (dispatch.hasNext()) {
+          consumer.accept(dispatch.next());
+        }
+      } finally {
+        dispatch.cancel();
+      }
+      return new Close<>(this);
+    }
+
+    /**
+     * Executes the given tasks and returns a sequential stream of their results in completion
+     * order. The tasks start right away; reading the stream waits for the next one to complete.
+     * Closing the stream cancels the tasks still running.
+     *
+     * @return the {@link Try} result of each task, in completion order
+     * @see #onEach(Consumer)
+     * @since 2.5
+     */
+    @Contract(" -> new")
+    public @NotNull Stream<Try<T>> stream() {
+      final Dispatch<T> dispatch = this.dispatch(this.failFast);
+      return StreamSupport.stream(
+              Spliterators.spliteratorUnknownSize(
+                  dispatch, Spliterator.ORDERED | Spliterator.NONNULL),
+              false)
+          .onClose(dispatch::cancel);
+    }
+
+    private @NotNull Dispatch<T> dispatch(final boolean failFast) {
+      return Dispatch.start(
+          this.syndicate.es,
+          this.syndicate.tasks(),
+          this.syndicate.maxInFlight,
+          this.timeoutNanos(),
+          failFast,
+          this.syndicate.limit);
+    }
+
+    private long timeoutNanos() {
+      return this.timeout > 0L && Objects.nonNull(this.unit) ? this.unit.toNanos(this.timeout) : 0L;
+    }
+
     /**
      * Get the list of Futures hold the results.
      *
@@ -301,6 +785,7 @@ public final class Syndicate<T> implements AutoCloseable {
           .append(this.syndicate)
           .append(this.timeout)
           .append(this.unit)
+          .append(this.failFast)
           .toHashCode();
     }
 
@@ -318,6 +803,7 @@ public final class Syndicate<T> implements AutoCloseable {
             .append(this.timeout, conductor.timeout)
             .append(this.syndicate, conductor.syndicate)
             .append(this.unit, conductor.unit)
+            .append(this.failFast, conductor.failFast)
             .isEquals();
       }
       return false;
@@ -333,10 +819,685 @@ public final class Syndicate<T> implements AutoCloseable {
           + this.timeout
           + ", unit="
           + this.unit
+          + ", failFast="
+          + this.failFast
+          + '}';
+    }
+  }
+
+  /**
+   * A graph of tasks run by a {@link Syndicate}, where a task can depend on the results of others.
+   * Every task starts as soon as the tasks it depends on succeeded; when more tasks are ready than
+   * {@link Syndicate#maxInFlight(int)} allows to run, those heading the longest remaining path run
+   * first, so the critical path is never held up by work off it.
+   *
+   * <pre>{@code
+   * final Syndicate.Graph<Object> graph = syndicate.graph();
+   * final Syndicate.Node<Object> users = graph.node("users", repository::users);
+   * final Syndicate.Node<Object> orders = graph.node("orders", repository::orders);
+   * final Syndicate.Node<Object> report =
+   *     graph.node("report", inputs -> render(inputs.get(0), inputs.get(1)), users, orders);
+   * final Syndicate.Report<Object> run = graph.run();
+   * run.get(report).onSuccess(...);
+   * }</pre>
+   *
+   * <p>A task whose dependency failed does not run; it fails with an {@link ExecutionException}
+   * caused by the failure of the dependency.
+   *
+   * @param <T> the type of the values from the tasks
+   * @since 2.5
+   */
+  public static final class Graph<T> {
+
+    /** Runs the nodes. */
+    private final Syndicate<T> syndicate;
+
+    /** The nodes, every node after the ones it depends on. */
+    private final List<Node<T>> nodes = new ArrayList<>();
+
+    @Contract(pure = true)
+    private Graph(final Syndicate<T> syndicate) {
+      this.syndicate = syndicate;
+    }
+
+    /**
+     * Use to add a task without dependency.
+     *
+     * @param name the name of the task, used in the {@link Report}
+     * @param task the task
+     * @return new instance of {@link Node}, for other tasks to depend on
+     */
+    @Contract("_, _ -> new")
+    public @NotNull Node<T> node(final String name, final Callable<T> task) {
+      Objects.requireNonNull(task, "task cannot be null");
+      return this.node(name, inputs -> task.call());
+    }
+
+    /**
+     * Use to add a task depending on the results of other tasks. Since a node can only depend on
+     * nodes added before it, the graph has no cycle.
+     *
+     * @param name the name of the task, used in the {@link Report}
+     * @param task computes the value of the task from the values of its dependencies, given in the
+     *     order of {@code dependencies}
+     * @param dependencies the nodes of the same graph the task depends on
+     * @return new instance of {@link Node}, for other tasks to depend on
+     */
+    @SafeVarargs
+    @Contract("_, _, _ -> new")
+    public final @NotNull Node<T> node(
+        final String name,
+        final ThrowingFunction<? super List<T>, ? extends T> task,
+        final Node<T>... dependencies) {
+      Objects.requireNonNull(name, "name cannot be null");
+      Objects.requireNonNull(task, "task cannot be null");
+      final Node<T> node = new Node<>(this, this.nodes.size(), name, task, dependencies);
+      for (final Node<T> dependency : dependencies) {
+        if (Objects.isNull(dependency) || dependency.graph != this) {
+          throw new IllegalArgumentException("dependencies must be nodes of the same graph");
+        }
+        dependency.dependents.add(node);
+      }
+      this.nodes.add(node);
+      return node;
+    }
+
+    /**
+     * Runs every task of the graph and waits for all of them. If interrupted meanwhile, the tasks
+     * still running are interrupted and the unfinished ones fail with an {@link
+     * InterruptedException}.
+     *
+     * @return new instance of {@link Report}, holding the results and timings of the tasks
+     */
+    public @NotNull Report<T> run() {
+      return new Execution().run();
+    }
+
+    @Override
+    public String toString() {
+      return "Graph{" + "nodes=" + this.nodes + '}';
+    }
+
+    /** A single run of the graph. */
+    private final class Execution {
+      private final int size = Graph.this.nodes.size();
+      private final long[] rank = new long[this.size];
+      private final int[] waiting = new int[this.size];
+      private final List<Try<T>> results = new ArrayList<>(Collections.nCopies(this.size, null));
+      private final long[] started = new long[this.size];
+      private final long[] finished = new long[this.size];
+      private final Future<?>[] futures = new Future<?>[this.size];
+      private final PriorityQueue<Node<T>> ready =
+          new PriorityQueue<>(
+              Math.max(1, this.size),
+              Comparator.<Node<T>>comparingLong(node -> -this.rank[node.index])
+                  .thenComparingInt(node -> node.index));
+      private final CountDownLatch done = new CountDownLatch(1);
+      private final long origin = System.nanoTime();
+      private int running;
+      private int completed;
+
+      private Report<T> run() {
+        for (int i = this.size - 1; i >= 0; i--) {
+          final Node<T> node = Graph.this.nodes.get(i);
+          long longest = 0L;
+          for (final Node<T> dependent : node.dependents) {
+            longest = Math.max(longest, this.rank[dependent.index]);
+          }
+          this.rank[i] = node.cost + longest;
+          this.waiting[i] = node.dependencies.size();
+          this.started[i] = -1L;
+          this.finished[i] = -1L;
+        }
+        synchronized (this) {
+          Graph.this.nodes.stream()
+              .filter(node -> this.waiting[node.index] == 0)
+              .forEach(this.ready::add);
+          this.launch();
+          if (this.size == 0) {
+            this.done.countDown();
+          }
+        }
+        try {
+          this.done.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          synchronized (this) {
+            for (final Future<?> future : this.futures) {
+              if (Objects.nonNull(future)) {
+                future.cancel(true);
+              }
+            }
+            Graph.this.nodes.forEach(node -> this.complete(node, Try.failure(e)));
+          }
+        }
+        synchronized (this) {
+          return new Report<>(
+              Graph.this.nodes,
+              new ArrayList<>(this.results),
+              this.started.clone(),
+              this.finished.clone(),
+              System.nanoTime() - this.origin);
+        }
+      }
+
+      /** Starts ready nodes, the highest ranked first, while {@code maxInFlight} allows. */
+      private void launch() {
+        while (this.running < Graph.this.syndicate.maxInFlight && !this.ready.isEmpty()) {
+          final Node<T> node = this.ready.poll();
+          this.running++;
+          try {
+            this.futures[node.index] = Graph.this.syndicate.es.submit(() -> this.execute(node));
+          } catch (final RejectedExecutionException e) {
+            this.running--;
+            this.complete(node, Try.failure(e));
+          }
+        }
+      }
+
+      private void execute(final Node<T> node) {
+        final List<T> inputs = new ArrayList<>(node.dependencies.size());
+        synchronized (this) {
+          if (Objects.nonNull(this.results.get(node.index))) {
+            this.running--;
+            return;
+          }
+          node.dependencies.forEach(
+              dependency -> inputs.add(this.results.get(dependency.index).get()));
+        }
+        final long start = System.nanoTime() - this.origin;
+        final Try<T> result = Try.of(() -> node.task.apply(inputs));
+        final long end = System.nanoTime() - this.origin;
+        synchronized (this) {
+          this.running--;
+          if (Objects.isNull(this.results.get(node.index))) {
+            this.started[node.index] = start;
+            this.finished[node.index] = end;
+          }
+          this.complete(node, result);
+          this.launch();
+        }
+      }
+
+      /** Records the result of a node and releases or fails its dependents. */
+      private void complete(final Node<T> node, final Try<T> result) {
+        if (Objects.nonNull(this.results.get(node.index))) {
+          return;
+        }
+        this.results.set(node.index, result);
+        for (final Node<T> dependent : node.dependents) {
+          if (result.isFailure()) {
+            this.complete(
+                dependent,
+                Try.failure(
+                    new ExecutionException(
+                        "Dependency '" + node.name + "' failed.", result.getCause())));
+          } else if (--this.waiting[dependent.index] == 0
+              && Objects.isNull(this.results.get(dependent.index))) {
+            this.ready.add(dependent);
+          }
+        }
+        if (++this.completed == this.size) {
+          this.done.countDown();
+        }
+      }
+    }
+  }
+
+  /**
+   * A task of a {@link Graph}.
+   *
+   * @param <T> the type of the value from the task
+   * @since 2.5
+   */
+  public static final class Node<T> {
+    private final Graph<T> graph;
+    private final int index;
+    private final String name;
+    private final ThrowingFunction<? super List<T>, ? extends T> task;
+    private final List<Node<T>> dependencies;
+    private final List<Node<T>> dependents = new ArrayList<>();
+
+    /** Estimated cost of the task, in nanoseconds, used to rank the ready tasks. */
+    private long cost = 1L;
+
+    @Contract(pure = true)
+    private Node(
+        final Graph<T> graph,
+        final int index,
+        final String name,
+        final ThrowingFunction<? super List<T>, ? extends T> task,
+        final Node<T>[] dependencies) {
+      this.graph = graph;
+      this.index = index;
+      this.name = name;
+      this.task = task;
+      this.dependencies = Arrays.asList(dependencies.clone());
+    }
+
+    /**
+     * Use to give the expected duration of the task, so that the critical path is worked out from
+     * durations rather than from the number of tasks. Configure it before running the graph.
+     *
+     * @param estimate the expected duration of the task
+     * @return existing instance of {@link Node}
+     */
+    @Contract(value = "_ -> this", mutates = "this")
+    public Node<T> cost(final Duration estimate) {
+      Objects.requireNonNull(estimate, "estimate cannot be null");
+      if (estimate.isNegative()) {
+        throw new IllegalArgumentException("estimate cannot be negative");
+      }
+      this.cost = Math.max(1L, estimate.toNanos());
+      return this;
+    }
+
+    /**
+     * Returns the name of the task.
+     *
+     * @return the name of the task
+     */
+    @Contract(pure = true)
+    public String getName() {
+      return this.name;
+    }
+
+    @Override
+    public String toString() {
+      return "Node{"
+          + "name='"
+          + this.name
+          + '\''
+          + ", dependencies="
+          + this.dependencies.size()
           + '}';
     }
   }
 
+  /**
+   * The results and timings of a run of a {@link Graph}. Times are in nanoseconds, measured from
+   * the start of the run.
+   *
+   * @param <T> the type of the values from the tasks
+   * @since 2.5
+   */
+  public static final class Report<T> {
+    private final List<Node<T>> nodes;
+    private final List<Try<T>> results;
+    private final long[] started;
+    private final long[] finished;
+    private final long elapsedNanos;
+    private final List<Node<T>> criticalPath;
+    private final long criticalPathNanos;
+
+    private Report(
+        final List<Node<T>> nodes,
+        final List<Try<T>> results,
+        final long[] started,
+        final long[] finished,
+        final long elapsedNanos) {
+      this.nodes = nodes;
+      this.results = results;
+      this.started = started;
+      this.finished = finished;
+      this.elapsedNanos = elapsedNanos;
+      final long[] longest = new long[nodes.size()];
+      final int[] previous = new int[nodes.size()];
+      int last = -1;
+      for (final Node<T> node : nodes) {
+        previous[node.index] = -1;
+        for (final Node<T> dependency : node.dependencies) {
+          if (longest[dependency.index] > longest[node.index]) {
+            longest[node.index] = longest[dependency.index];
+            previous[node.index] = dependency.index;
+          }
+        }
+        longest[node.index] += this.getDurationNanos(node);
+        if (last < 0 || longest[node.index] > longest[last]) {
+          last = node.index;
+        }
+      }
+      final LinkedList<Node<T>> path = new LinkedList<>();
+      for (int i = last; i >= 0; i = previous[i]) {
+        path.addFirst(nodes.get(i));
+      }
+      this.criticalPath = Collections.unmodifiableList(path);
+      this.criticalPathNanos = last < 0 ? 0L : longest[last];
+    }
+
+    /**
+     * Returns the result of a task.
+     *
+     * @param node the task
+     * @return the {@link Try} result of the task
+     */
+    public @NotNull Try<T> get(final Node<T> node) {
+      return this.results.get(this.indexOf(node));
+    }
+
+    /**
+     * Returns when the task started.
+     *
+     * @param node the task
+     * @return the start time, or {@code -1} if the task did not run
+     */
+    public long getStartNanos(final Node<T> node) {
+      return this.started[this.indexOf(node)];
+    }
+
+    /**
+     * Returns how long the task ran.
+     *
+     * @param node the task
+     * @return the duration, 0 if the task did not run
+     */
+    public long getDurationNanos(final Node<T> node) {
+      final int index = this.indexOf(node);
+      return this.started[index] < 0L ? 0L : this.finished[index] - this.started[index];
+    }
+
+    /**
+     * Returns the chain of dependent tasks which took the longest, as measured.
+     *
+     * @return the tasks of the critical path, from first to last
+     */
+    @Contract(pure = true)
+    public @NotNull List<Node<T>> getCriticalPath() {
+      return this.criticalPath;
+    }
+
+    /**
+     * Returns the sum of the durations of the tasks of the critical path, the shortest the run
+     * could take with unbounded parallelism.
+     *
+     * @return the length of the critical path
+     */
+    @Contract(pure = true)
+    public long getCriticalPathNanos() {
+      return this.criticalPathNanos;
+    }
+
+    /**
+     * Returns how long the whole run took.
+     *
+     * @return the elapsed time
+     */
+    @Contract(pure = true)
+    public long getElapsedNanos() {
+      return this.elapsedNanos;
+    }
+
+    private int indexOf(final Node<T> node) {
+      Objects.requireNonNull(node, "node cannot be null");
+      if (node.index >= this.nodes.size() || this.nodes.get(node.index) != node) {
+        throw new IllegalArgumentException("node is not part of the graph");
+      }
+      return node.index;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder timings = new StringBuilder();
+      for (final Node<T> node : this.nodes) {
+        if (timings.length() > 0) {
+          timings.append(", ");
+        }
+        timings
+            .append(node.name)
+            .append('=')
+            .append(this.getStartNanos(node))
+            .append('+')
+            .append(this.getDurationNanos(node));
+      }
+      return "Report{"
+          + "elapsedNanos="
+          + this.elapsedNanos
+          + ", criticalPathNanos="
+          + this.criticalPathNanos
+          + ", criticalPath="
+          + this.criticalPath.stream().map(Node::getName).collect(Collectors.toList())
+          + ", timings=["
+          + timings
+          + "]}";
+    }
+  }
+
+  /**
+   * A task of a {@link Syndicate}, added with {@link Syndicate#addRecursive(Recursive)}, which can
+   * fork subtasks and join them.
+   *
+   * <pre>{@code
+   * static long sum(final Syndicate.Fork fork, final Node node) throws Exception {
+   *   final List<Syndicate.Forked<Long>> children = new ArrayList<>();
+   *   node.children().forEach(child -> children.add(fork.fork(f -> sum(f, child))));
+   *   long sum = node.value();
+   *   for (final Syndicate.Forked<Long> child : children) {
+   *     sum += child.join();
+   *   }
+   *   return sum;
+   * }
+   * }</pre>
+   *
+   * @param <T> the type of the value from the task
+   * @since 2.5
+   */
+  @FunctionalInterface
+  public interface Recursive<T> {
+
+    /**
+     * Computes the value of the task.
+     *
+     * @param fork forks subtasks into the same {@link Syndicate}
+     * @return the value of the task
+     * @throws Exception if unable to compute the value
+     */
+    T compute(Fork fork) throws Exception;
+  }
+
+  /**
+   * Forks subtasks of a {@link Recursive} task into the {@link Syndicate} running it.
+   *
+   * @since 2.5
+   */
+  public static final class Fork {
+
+    /** Runs the subtasks. */
+    private final ExecutorService es;
+
+    @Contract(pure = true)
+    private Fork(final ExecutorService es) {
+      this.es = es;
+    }
+
+    /**
+     * Forks a subtask. In a {@link Syndicate#forkJoin()} Syndicate, the subtask is queued to run
+     * asynchronously; otherwise it runs when joined.
+     *
+     * @param subtask the subtask to fork
+     * @param <R> the type of the value from the subtask
+     * @return new instance of {@link Forked}, to join the subtask
+     */
+    @Contract("_ -> new")
+    public <R> @NotNull Forked<R> fork(final Recursive<R> subtask) {
+      Objects.requireNonNull(subtask, "subtask cannot be null");
+      final boolean pooled = this.es instanceof ForkJoinPool;
+      final Forked<R> forked = new Forked<>(new Subtask<>(subtask, this), pooled);
+      if (pooled) {
+        if (ForkJoinTask.getPool() == this.es) {
+          forked.subtask.fork();
+        } else {
+          ((ForkJoinPool) this.es).execute(forked.subtask);
+        }
+      }
+      return forked;
+    }
+
+    @Override
+    public String toString() {
+      return "Fork{" + "executorService=" + this.es + '}';
+    }
+  }
+
+  /**
+   * A subtask forked with {@link Fork#fork(Recursive)}.
+   *
+   * @param <T> the type of the value from the subtask
+   * @since 2.5
+   */
+  public static final class Forked<T> {
+
+    /** The forked subtask. */
+    private final Subtask<T> subtask;
+
+    /** Whether the subtask is handed to a pool, otherwise it runs when joined. */
+    private final boolean pooled;
+
+    @Contract(pure = true)
+    private Forked(final Subtask<T> subtask, final boolean pooled) {
+      this.subtask = subtask;
+      this.pooled = pooled;
+    }
+
+    /**
+     * Waits for the subtask and returns its value. A worker of a {@link Syndicate#forkJoin()}
+     * Syndicate runs other subtasks while it waits.
+     *
+     * @return the value of the subtask
+     * @throws Exception the exception thrown by the subtask
+     */
+    public T join() throws Exception {
+      final Try<T> result = this.pooled ? this.subtask.join() : this.subtask.invoke();
+      if (result.isFailure()) {
+        throw (Exception) result.getCause();
+      }
+      return result.get();
+    }
+
+    /**
+     * Tells whether the subtask completed.
+     *
+     * @return {@code true} once the subtask completed
+     */
+    public boolean isDone() {
+      return this.subtask.isDone();
+    }
+
+    @Override
+    public String toString() {
+      return "Forked{" + "done=" + this.isDone() + '}';
+    }
+  }
+
+  /**
+   * A task which must complete within its own timeout.
+   *
+   * @param <T> the type of the value from the task
+   */
+  private static final class Timed<T> implements Callable<T> {
+    private final Callable<T> task;
+    private final long timeoutNanos;
+
+    @Contract(pure = true)
+    private Timed(final Callable<T> task, final long timeoutNanos) {
+      this.task = task;
+      this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    public T call() throws Exception {
+      final Alarm alarm = new Alarm(Thread.currentThread());
+      final ScheduledFuture<?> ring =
+          Threads.timer().schedule(alarm, this.timeoutNanos, TimeUnit.NANOSECONDS);
+      try {
+        final T value = this.task.call();
+        if (alarm.disarm()) {
+          return value;
+        }
+      } catch (final Exception e) {
+        if (alarm.disarm()) {
+          throw e;
+        }
+      } finally {
+        ring.cancel(false);
+        alarm.disarm();
+      }
+      throw new TimeoutException(
+          "Task did not complete within " + this.timeoutNanos + " nanoseconds.");
+    }
+
+    @Override
+    public String toString() {
+      return "Timed{" + "task=" + this.task + ", timeoutNanos=" + this.timeoutNanos + '}';
+    }
+  }
+
+  /** Interrupts the thread running a {@link Timed} task once its timeout elapsed. */
+  private static final class Alarm implements Runnable {
+    private final Thread runner;
+    private boolean armed = true;
+    private boolean rang;
+
+    /** Whether the interrupt of the runner is the alarm's own, and not cleared yet. */
+    private boolean interrupted;
+
+    @Contract(pure = true)
+    private Alarm(final Thread runner) {
+      this.runner = runner;
+    }
+
+    @Override
+    public synchronized void run() {
+      if (this.armed) {
+        this.armed = false;
+        this.rang = true;
+        if (!this.runner.isInterrupted()) {
+          this.interrupted = true;
+          this.runner.interrupt();
+        }
+      }
+    }
+
+    /**
+     * Stops the alarm; if it already rang, clears the interrupt it caused, once. When the task was
+     * cancelled meanwhile, the interrupt of the cancellation may have merged with the alarm's, so
+     * it is kept.
+     *
+     * @return {@code true} if the task completed before the alarm rang
+     */
+    private synchronized boolean disarm() {
+      this.armed = false;
+      if (this.interrupted) {
+        this.interrupted = false;
+        if (!Dispatch.isCancelled()) {
+          Thread.interrupted();
+        }
+      }
+      return !this.rang;
+    }
+  }
+
+  /**
+   * Runs a {@link Recursive} subtask within a {@link ForkJoinPool}.
+   *
+   * @param <T> the type of the value from the subtask
+   */
+  private static final class Subtask<T> extends RecursiveTask<Try<T>> {
+    private static final long serialVersionUID = 6394417268306218105L;
+
+    private final transient Recursive<T> recursive;
+    private final transient Fork fork;
+
+    private Subtask(final Recursive<T> recursive, final Fork fork) {
+      this.recursive = recursive;
+      this.fork = fork;
+    }
+
+    @Override
+    protected Try<T> compute() {
+      return Try.of(() -> this.recursive.compute(this.fork));
+    }
+  }
+
   /**
    * Represent the operation used to shutdown the current {@link ExecutorService} running the
    * Syndicate.
@@ -0,0 +1,260 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the queue wait, the execution time and the outcome of every task of the {@link
+ * Syndicate}s it is attached to, see {@link Syndicate#metrics(SyndicateMetrics)}. Times go to
+ * lock-free {@link Histogram}s, counts to {@link LongAdder}s, so recording costs a few atomic
+ * operations per task and any number of Syndicates can share the same metrics.
+ *
+ * <pre>{@code
+ * final SyndicateMetrics metrics = SyndicateMetrics.create();
+ * try (final Syndicate<Quote> syndicate = Syndicate.<Quote>init().metrics(metrics)) {
+ *   ...
+ * }
+ * metrics.getQueueWait().getPercentile(99.0);
+ * }</pre>
+ *
+ * <p>The queue wait of a task runs from its submission, or from the moment it was pulled from a
+ * lazy source, to the start of its execution. Tasks cancelled before they started count as
+ * submitted only.
+ *
+ * <p>On Java 11 and later, each task slower than the threshold of the {@code
+ * art.cutils.SyndicateTask} event, 10 milliseconds by default, is also recorded to JDK Flight
+ * Recorder when a recording is running.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class SyndicateMetrics {
+
+  /** Time from submission to start, in nanoseconds. */
+  private final Histogram queueWait = Histogram.create();
+
+  /** Time from start to completion, in nanoseconds. */
+  private final Histogram executionTime = Histogram.create();
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder succeeded = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder timedOut = new LongAdder();
+
+  /** Number of tasks running. */
+  private final AtomicInteger running = new AtomicInteger();
+
+  /** Highest number of tasks running at once. */
+  private final AtomicInteger peakRunning = new AtomicInteger();
+
+  /** Sealed. */
+  @Contract(pure = true)
+  private SyndicateMetrics() {}
+
+  /**
+   * Creates empty metrics.
+   *
+   * @return new instance of {@link SyndicateMetrics}
+   */
+  @Contract(value = " -> new", pure = true)
+  public static @NotNull SyndicateMetrics create() {
+    return new SyndicateMetrics();
+  }
+
+  /**
+   * Wraps a task being submitted, so that its execution is recorded.
+   *
+   * @param task the task
+   * @param <T> the type of the value from the task
+   * @return the measured task
+   */
+  <T> @NotNull Callable<T> measure(final Callable<T> task) {
+    this.submitted.increment();
+    return new Measured<>(Objects.requireNonNull(task, "task cannot be null"), System.nanoTime());
+  }
+
+  /**
+   * Returns the queue wait of the tasks started so far.
+   *
+   * @return the distribution of the queue waits, in nanoseconds
+   */
+  public @NotNull Histogram.Snapshot getQueueWait() {
+    return this.queueWait.snapshot();
+  }
+
+  /**
+   * Returns the execution time of the tasks completed so far, whatever their outcome.
+   *
+   * @return the distribution of the execution times, in nanoseconds
+   */
+  public @NotNull Histogram.Snapshot getExecutionTime() {
+    return this.executionTime.snapshot();
+  }
+
+  /**
+   * Returns the number of tasks submitted.
+   *
+   * @return the number of tasks submitted
+   */
+  public long getSubmitted() {
+    return this.submitted.sum();
+  }
+
+  /**
+   * Returns the number of tasks which completed normally.
+   *
+   * @return the number of successful tasks
+   */
+  public long getSucceeded() {
+    return this.succeeded.sum();
+  }
+
+  /**
+   * Returns the number of tasks which threw, timeouts aside.
+   *
+   * @return the number of failed tasks
+   */
+  public long getFailed() {
+    return this.failed.sum();
+  }
+
+  /**
+   * Returns the number of tasks which threw a {@link TimeoutException}, such as the tasks added
+   * with a timeout of their own, or which were cut off when the timeout of their {@link
+   * Syndicate} elapsed.
+   *
+   * @return the number of timed out tasks
+   */
+  public long getTimedOut() {
+    return this.timedOut.sum();
+  }
+
+  /**
+   * Returns the number of tasks running now.
+   *
+   * @return the number of tasks running
+   */
+  public int getRunning() {
+    return this.running.get();
+  }
+
+  /**
+   * Returns the highest number of tasks which ran at once.
+   *
+   * @return the peak number of tasks running
+   */
+  public int getPeakRunning() {
+    return this.peakRunning.get();
+  }
+
+  /** Clears the histograms and the counts, the tasks running are still counted as such. */
+  public void reset() {
+    this.queueWait.reset();
+    this.executionTime.reset();
+    this.submitted.reset();
+    this.succeeded.reset();
+    this.failed.reset();
+    this.timedOut.reset();
+    this.peakRunning.set(this.running.get());
+  }
+
+  @Override
+  public String toString() {
+    return "SyndicateMetrics{"
+        + "submitted="
+        + this.getSubmitted()
+        + ", succeeded="
+        + this.getSucceeded()
+        + ", failed="
+        + this.getFailed()
+        + ", timedOut="
+        + this.getTimedOut()
+        + ", running="
+        + this.getRunning()
+        + ", peakRunning="
+        + this.getPeakRunning()
+        + '}';
+  }
+
+  /**
+   * A task recording its execution to the metrics.
+   *
+   * @param <T> the type of the value from the task
+   */
+  private final class Measured<T> implements Callable<T> {
+    private final Callable<T> task;
+
+    /** {@link System#nanoTime()} of the submission. */
+    private final long submittedAt;
+
+    @Contract(pure = true)
+    private Measured(final Callable<T> task, final long submittedAt) {
+      this.task = task;
+      this.submittedAt = submittedAt;
+    }
+
+    @Override
+    public T call() throws Exception {
+      final SyndicateMetrics metrics = SyndicateMetrics.this;
+      final long start = System.nanoTime();
+      metrics.queueWait.record(start - this.submittedAt);
+      metrics.peakRunning.accumulateAndGet(metrics.running.incrementAndGet(), Math::max);
+      final TaskEvent event = TaskEvent.start();
+      LongAdder outcome = metrics.failed;
+      try {
+        final T value = this.task.call();
+        outcome = metrics.succeeded;
+        return value;
+      } catch (final Exception e) {
+        if (e instanceof TimeoutException || Dispatch.isExpiring()) {
+          outcome = metrics.timedOut;
+        }
+        throw e;
+      } finally {
+        metrics.executionTime.record(System.nanoTime() - start);
+        metrics.running.decrementAndGet();
+        outcome.increment();
+        event.finish(
+            this.task.getClass().getName(),
+            start - this.submittedAt,
+            outcome == metrics.succeeded
+                ? "succeeded"
+                : outcome == metrics.timedOut ? "timed out" : "failed");
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Measured{" + "task=" + this.task + '}';
+    }
+  }
+}
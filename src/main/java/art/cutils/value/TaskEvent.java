@@ -0,0 +1,83 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import java.util.function.Supplier;
+
+/**
+ * Records the execution of a task measured by {@link SyndicateMetrics} to JDK Flight Recorder.
+ *
+ * <p>The library targets Java 8, while the {@code jdk.jfr} API comes with Java 11, so the events
+ * are {@code FlightTaskEvent}s from the {@code META-INF/versions/11} part of the jar, looked up
+ * once, reflectively. On older runtimes, or without the {@code jdk.jfr} module, nothing is
+ * recorded.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+interface TaskEvent {
+
+  /** Records nothing, when Flight Recorder is not available. */
+  TaskEvent NONE = (task, queueWaitNanos, outcome) -> {};
+
+  /**
+   * Starts timing a task.
+   *
+   * @return the event of the task
+   */
+  static TaskEvent start() {
+    return Recorder.START.get();
+  }
+
+  /**
+   * Ends timing the task and records it if it ran long enough.
+   *
+   * @param task the class of the task
+   * @param queueWaitNanos time the task waited before it started
+   * @param outcome how the task completed
+   */
+  void finish(String task, long queueWaitNanos, String outcome);
+
+  /** Looks up the Flight Recorder events, only when first needed. */
+  final class Recorder {
+
+    /** Starts the event of a task. */
+    private static final Supplier<TaskEvent> START = Recorder.lookup();
+
+    /** Locked for life. */
+    private Recorder() {}
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<TaskEvent> lookup() {
+      try {
+        return (Supplier<TaskEvent>)
+            Class.forName("art.cutils.value.FlightTaskEvent")
+                .getDeclaredMethod("starter")
+                .invoke(null);
+      } catch (final ReflectiveOperationException | LinkageError e) {
+        return () -> TaskEvent.NONE;
+      }
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the threads asynchronous operations run on when no executor is given: a virtual thread per
+ * task on Java 21 and later, otherwise the {@link ForkJoinPool#commonPool() common pool}.
+ *
+ * <p>The library targets Java 8, so the virtual-thread factory is looked up once, reflectively.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+final class Threads {
+
+  /** {@code Executors.newVirtualThreadPerTaskExecutor()}, or {@code null} before Java 21. */
+  private static final MethodHandle VIRTUAL_PER_TASK = Threads.lookupVirtualPerTask();
+
+  /** Shared virtual-thread executor, or {@code null} before Java 21. */
+  private static final ExecutorService VIRTUAL = Threads.newVirtualPerTask();
+
+  /** Locked for life. */
+  @Contract(pure = true)
+  private Threads() {}
+
+  /**
+   * Returns the default executor of asynchronous operations.
+   *
+   * @return a virtual-thread executor if available, otherwise the common pool
+   */
+  static @NotNull Executor async() {
+    return VIRTUAL == null ? ForkJoinPool.commonPool() : VIRTUAL;
+  }
+
+  /**
+   * Checks if virtual threads are available.
+   *
+   * @return {@code true} on Java 21 and later
+   */
+  static boolean isVirtualAvailable() {
+    return VIRTUAL_PER_TASK != null;
+  }
+
+  /**
+   * Creates an executor starting a virtual thread per task.
+   *
+   * @return new executor, or {@code null} before Java 21
+   */
+  static ExecutorService newVirtualPerTask() {
+    if (VIRTUAL_PER_TASK == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService) VIRTUAL_PER_TASK.invoke();
+    } catch (final Throwable e) {
+      return null;
+    }
+  }
+
+  /**
+   * Creates the executor of a {@link Syndicate} which was given none.
+   *
+   * @return a virtual-thread-per-task executor if available, otherwise a cached thread pool
+   */
+  static @NotNull ExecutorService newPerTask() {
+    final ExecutorService virtual = Threads.newVirtualPerTask();
+    return virtual == null ? Executors.newCachedThreadPool() : virtual;
+  }
+
+  /**
+   * Runs the task after the delay without parking a platform thread: a virtual thread sleeps
+   * through the delay if available, otherwise a shared timer hands the task to the common pool.
+   *
+   * @param delayNanos the delay in nanoseconds
+   * @param task the task to run
+   */
+  static void delay(final long delayNanos, final Runnable task) {
+    if (VIRTUAL == null) {
+      Timer.INSTANCE.schedule(
+          () -> ForkJoinPool.commonPool().execute(task), delayNanos, TimeUnit.NANOSECONDS);
+      return;
+    }
+    VIRTUAL.execute(
+        () -> {
+          try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          task.run();
+        });
+  }
+
+  /**
+   * Returns the shared timer, a single daemon thread meant for short timing tasks only.
+   *
+   * @return the timer
+   */
+  static @NotNull ScheduledExecutorService timer() {
+    return Timer.INSTANCE;
+  }
+
+  private static MethodHandle lookupVirtualPerTask() {
+    try {
+      return MethodHandles.publicLookup()
+          .findStatic(
+              Executors.class,
+              "newVirtualThreadPerTaskExecutor",
+              MethodType.methodType(ExecutorService.class));
+    } catch (final NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /** Timer of delays and timeouts, only created when first needed. */
+  private static final class Timer {
+    private static final ScheduledExecutorService INSTANCE = Timer.create();
+
+    private static ScheduledExecutorService create() {
+      final ScheduledThreadPoolExecutor timer =
+          new ScheduledThreadPoolExecutor(
+              1,
+              task -> {
+                final Thread thread = new Thread(task, "cutils-timer");
+                thread.setDaemon(true);
+                return thread;
+              });
+      timer.setRemoveOnCancelPolicy(true);
+      return timer;
+    }
+  }
+}
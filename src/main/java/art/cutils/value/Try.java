@@ -31,8 +31,22 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -70,6 +84,12 @@ import java.util.function.Supplier;
 public abstract class Try<T> implements Serializable {
   private static final long serialVersionUID = 4530258067856316628L;
 
+  /** No listener. */
+  private static final FailureListener[] NO_LISTENERS = new FailureListener[0];
+
+  /** Listeners told about every failure caught, replaced as a whole when one is added or removed. */
+  private static volatile FailureListener[] listeners = NO_LISTENERS;
+
   /** Locked for life. */
   @Contract(pure = true)
   private Try() {}
@@ -89,7 +109,7 @@ public abstract class Try<T> implements Serializable {
     try {
       return new Success<>(operation.deal());
     } catch (final Exception e) {
-      return new Failure<>(e);
+      return Try.caught(e);
     }
   }
 
@@ -108,10 +128,269 @@ public abstract class Try<T> implements Serializable {
       operation.execute();
       return new Success<>();
     } catch (final Exception e) {
-      return new Failure<>(e);
+      return Try.caught(e);
+    }
+  }
+
+  /**
+   * Tries the {@link Dealer} operation asynchronously, on a virtual thread on Java 21 and later,
+   * otherwise on the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param <T> variable type
+   * @return a {@link CompletableFuture} completed with the {@link Try} of the operation.
+   * @since v2.5
+   */
+  @Contract("_ -> new")
+  public static <T> @NotNull CompletableFuture<Try<T>> ofAsync(
+      final Dealer<? extends T> operation) {
+    return Try.ofAsync(operation, Threads.async());
+  }
+
+  /**
+   * Tries the {@link Dealer} operation asynchronously on the {@code executor}.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param executor runs the operation.
+   * @param <T> variable type
+   * @return a {@link CompletableFuture} completed with the {@link Try} of the operation, or with a
+   *     {@link java.util.concurrent.RejectedExecutionException} failure if the executor rejects it.
+   * @since v2.5
+   */
+  @Contract("_, _ -> new")
+  public static <T> @NotNull CompletableFuture<Try<T>> ofAsync(
+      final Dealer<? extends T> operation, final Executor executor) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    Objects.requireNonNull(executor, "executor cannot be null");
+    final CompletableFuture<Try<T>> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> future.complete(Try.of(operation)));
+    } catch (final RejectedExecutionException e) {
+      future.complete(Try.caught(e));
+    }
+    return future;
+  }
+
+  /**
+   * Accepts a {@link Dealer} type function which is only tried once its outcome is needed: by
+   * {@link #get()}, {@link #isSuccess()} or any other method reading the state. The outcome is then
+   * kept, the operation is never tried more than once even when read from several threads.
+   *
+   * <p>{@link #map(ThrowingFunction)} on a lazy {@link Try} is lazy as well, so stages of a
+   * pipeline which are never read are never run.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param <T> variable type
+   * @return instance of {@link Try} whose state is resolved on first use.
+   * @since v2.5
+   */
+  @Contract("_ -> new")
+  public static <T> @NotNull Try<T> lazy(final Dealer<? extends T> operation) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    return new Lazy<>(() -> Try.of(operation));
+  }
+
+  /**
+   * Tries the {@link Dealer} operation on the {@code executor} within the {@code budget}, without
+   * blocking the current thread. If the operation has not completed when the budget runs out, it
+   * is cancelled and interrupted, and the outcome is a {@link TimeoutException} failure.
+   *
+   * <p>The returned {@link Try} is resolved on first use, like {@link #lazy(Dealer)}: only then
+   * does the current thread wait for the operation, and never past the deadline. The deadline is
+   * carried by the returned {@link Try}, as with {@link #within(Duration)}, so later stages of the
+   * chain share the same budget.
+   *
+   * @param budget time allowed to the operation and the stages chained to it.
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param executor runs the operation.
+   * @param <T> variable type
+   * @return instance of {@link Try} whose state is resolved on first use.
+   * @since v2.5
+   */
+  public static <T> @NotNull Try<T> within(
+      final Duration budget, final Dealer<? extends T> operation, final ExecutorService executor) {
+    Objects.requireNonNull(budget, "budget cannot be null");
+    Objects.requireNonNull(operation, "operation cannot be null");
+    Objects.requireNonNull(executor, "executor cannot be null");
+    final long deadline = System.nanoTime() + budget.toNanos();
+    final Future<T> future;
+    try {
+      future = executor.submit(operation::deal);
+    } catch (final RejectedExecutionException e) {
+      return new Within<>(Try.caught(e), deadline);
+    }
+    Threads.timer().schedule(() -> future.cancel(true), budget.toNanos(), TimeUnit.NANOSECONDS);
+    return new Within<>(new Lazy<>(() -> Try.await(future, deadline)), deadline);
+  }
+
+  /**
+   * Waits for the outcome of an operation until the deadline, cancelling it if it is late.
+   *
+   * @param future the future of the operation
+   * @param deadline the deadline, in {@link System#nanoTime()} terms
+   * @param <T> variable type
+   * @return instance of {@link Try} either with a {@link Success} or {@link Failure} state.
+   */
+  private static <T> @NotNull Try<T> await(final Future<T> future, final long deadline) {
+    try {
+      return new Success<>(
+          future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+    } catch (final ExecutionException e) {
+      return Try.caught(e.getCause());
+    } catch (final TimeoutException | CancellationException e) {
+      future.cancel(true);
+      return Try.caught(new TimeoutException("Deadline exceeded."));
+    } catch (final InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      return Try.caught(e);
+    }
+  }
+
+  /**
+   * Tries the {@link Dealer} operation and, if it fails, tries it again as described by the {@link
+   * RetryPolicy}. The current thread sleeps between attempts, use {@link #retryAsync(Dealer,
+   * RetryPolicy, ScheduledExecutorService)} to back off without holding a thread.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param policy the {@link RetryPolicy} deciding when and how often to try again.
+   * @param <T> variable type
+   * @return the first {@link Success}, otherwise the {@link Failure} of the last attempt.
+   * @since v2.5
+   */
+  public static <T> @NotNull Try<T> retry(
+      final Dealer<? extends T> operation, final RetryPolicy policy) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    Objects.requireNonNull(policy, "policy cannot be null");
+    return policy.retry(operation);
+  }
+
+  /**
+   * Tries the {@link Dealer} operation and, if it fails, tries it again as described by the {@link
+   * RetryPolicy}. Attempts run on the {@code scheduler} and the backoff between them is a scheduled
+   * delay, so no thread is parked while waiting for the next attempt.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param policy the {@link RetryPolicy} deciding when and how often to try again.
+   * @param scheduler runs the attempts and times the delays between them.
+   * @param <T> variable type
+   * @return a {@link CompletableFuture} completed with the first {@link Success}, otherwise the
+   *     {@link Failure} of the last attempt.
+   * @since v2.5
+   */
+  public static <T> @NotNull CompletableFuture<Try<T>> retryAsync(
+      final Dealer<? extends T> operation,
+      final RetryPolicy policy,
+      final ScheduledExecutorService scheduler) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    Objects.requireNonNull(policy, "policy cannot be null");
+    Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    return policy.retryAsync(operation, scheduler);
+  }
+
+  /**
+   * Tries the {@link Dealer} operation on the {@code executor} and hedges it: if no attempt has
+   * completed within {@code hedgeDelay}, or every running attempt failed, a duplicate attempt is
+   * started, up to {@code maxAttempts}. The first success is returned and the attempts still
+   * running are cancelled. Only hedge idempotent operations.
+   *
+   * <p>{@link Hedge} counts how often hedging was triggered and won.
+   *
+   * @param operation the operation that will be tried, a variable of {@link Dealer} type.
+   * @param hedgeDelay time to wait for a result before starting a duplicate attempt.
+   * @param maxAttempts maximum number of attempts, including the first one.
+   * @param executor runs the attempts.
+   * @param <T> variable type
+   * @return the first {@link Success}, otherwise the {@link Failure} of the last attempt.
+   * @throws IllegalArgumentException if {@code hedgeDelay} is negative or {@code maxAttempts} is
+   *     less than 1.
+   * @since v2.5
+   */
+  public static <T> @NotNull Try<T> hedge(
+      final Dealer<? extends T> operation,
+      final Duration hedgeDelay,
+      final int maxAttempts,
+      final Executor executor) {
+    Objects.requireNonNull(operation, "operation cannot be null");
+    Objects.requireNonNull(hedgeDelay, "hedgeDelay cannot be null");
+    Objects.requireNonNull(executor, "executor cannot be null");
+    if (hedgeDelay.isNegative()) {
+      throw new IllegalArgumentException("hedgeDelay cannot be negative");
+    }
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    return Hedge.run(operation, hedgeDelay.toNanos(), maxAttempts, executor);
+  }
+
+  /**
+   * Registers a {@link FailureListener} told about every exception caught by a {@link Try}
+   * operation. Failures carried over from a previous failed {@link Try}, for instance by {@link
+   * #map(ThrowingFunction)}, are not reported again.
+   *
+   * <p>Listeners are called on the failing thread, they should be quick and never throw; an
+   * exception thrown by a listener is ignored. Without listeners, failures cost nothing extra.
+   *
+   * @param listener the listener to register.
+   * @since v2.5
+   */
+  public static void addFailureListener(final FailureListener listener) {
+    Objects.requireNonNull(listener, "listener cannot be null");
+    synchronized (Try.class) {
+      final FailureListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+      updated[listeners.length] = listener;
+      listeners = updated;
+    }
+  }
+
+  /**
+   * Unregisters a {@link FailureListener}.
+   *
+   * @param listener the listener to unregister.
+   * @return {@code true} if the listener was registered.
+   * @since v2.5
+   */
+  public static boolean removeFailureListener(final FailureListener listener) {
+    synchronized (Try.class) {
+      final List<FailureListener> updated = new ArrayList<>(Arrays.asList(listeners));
+      final boolean removed = updated.remove(listener);
+      listeners = updated.isEmpty() ? NO_LISTENERS : updated.toArray(NO_LISTENERS);
+      return removed;
     }
   }
 
+  /**
+   * Creates a {@link Failure} for an exception caught by a {@link Try} operation and reports it to
+   * the registered {@link FailureListener}s.
+   *
+   * @param cause the exception caught
+   * @param <T> variable type
+   * @return instance of {@link Try} with a {@link Failure} state.
+   */
+  private static <T> @NotNull Try<T> caught(final Throwable cause) {
+    final FailureListener[] current = listeners;
+    for (final FailureListener listener : current) {
+      try {
+        listener.onFailure(cause);
+      } catch (final RuntimeException ignored) {
+        // a faulty listener must not change the outcome of the operation
+      }
+    }
+    return new Failure<>(cause);
+  }
+
+  /**
+   * Creates a {@link Failure} for operations tried elsewhere in this package.
+   *
+   * @param cause the failure cause
+   * @param <T> variable type
+   * @return instance of {@link Try} with a {@link Failure} state.
+   */
+  @Contract("_ -> new")
+  static <T> @NotNull Try<T> failure(final Throwable cause) {
+    return new Failure<>(cause);
+  }
+
   /**
    * If try is successful, invoke the specified consumer with the operation result, otherwise do
    * nothing.
@@ -236,6 +515,36 @@ public abstract class Try<T> implements Serializable {
    */
   public abstract <M> Try<M> map(final ThrowingFunction<? super T, ? extends M> mapper);
 
+  /**
+   * If a try operation return a result, apply the provided {@link Try}-bearing mapping function to
+   * it, and return that {@link Try} without wrapping it again.
+   *
+   * @param mapper a mapping function to apply to the result if available.
+   * @param <M> The type of the result of the {@link Try} returned by the mapping function
+   * @return the {@link Try} returned by the mapping function, or a {@link Failure} if the mapping
+   *     function throws or this try operation failed.
+   * @throws NullPointerException if the mapping function is null
+   * @since v2.5
+   */
+  public abstract <M> Try<M> flatMap(
+      final ThrowingFunction<? super T, ? extends Try<? extends M>> mapper);
+
+  /**
+   * Sets a deadline, {@code budget} from now, on the stages chained to this {@link Try}. A {@link
+   * #map(ThrowingFunction)} or {@link #flatMap(ThrowingFunction)} stage which would start past the
+   * deadline is not run and fails with a {@link TimeoutException} instead; the deadline carries on
+   * to the {@link Try} it returns.
+   *
+   * @param budget time allowed to the stages chained from here.
+   * @return instance of {@link Try} with the same state, carrying the deadline.
+   * @since v2.5
+   */
+  @Contract("_ -> new")
+  public @NotNull Try<T> within(final Duration budget) {
+    Objects.requireNonNull(budget, "budget cannot be null");
+    return new Within<>(this, System.nanoTime() + budget.toNanos());
+  }
+
   /**
    * Return the result if try operation is successful and has a result, otherwise return {@code
    * other} value.
@@ -318,6 +627,8 @@ public abstract class Try<T> implements Serializable {
       if (o instanceof Success) {
         final Success<?> success = (Success<?>) o;
         return this.isResult() == success.isResult() && this.result == success.result;
+      } else if (o instanceof Forwarding) {
+        return this.equals(((Forwarding<?>) o).delegate());
       } else {
         return false;
       }
@@ -365,6 +676,19 @@ public abstract class Try<T> implements Serializable {
       return Try.of(() -> mapper.apply(this.result));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <M> @NotNull Try<M> flatMap(
+        final ThrowingFunction<? super S, ? extends Try<? extends M>> mapper) {
+      Objects.requireNonNull(mapper, "Mapper cannot be null.");
+      try {
+        return Objects.requireNonNull((Try<M>) mapper.apply(this.result), "Mapper returned null.");
+      } catch (final Exception e) {
+        return Try.caught(e);
+      }
+    }
+
     /** {@inheritDoc} */
     @Override
     @Contract(pure = true)
@@ -453,6 +777,14 @@ public abstract class Try<T> implements Serializable {
       return new Failure<>(this.exception);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @Contract(value = "_ -> fail", pure = true)
+    public <M> @NotNull Try<M> flatMap(
+        final ThrowingFunction<? super F, ? extends Try<? extends M>> mapper) {
+      return new Failure<>(this.exception);
+    }
+
     /** {@inheritDoc} */
     @Override
     @Contract(value = "_ -> param1", pure = true)
@@ -510,9 +842,226 @@ public abstract class Try<T> implements Serializable {
       if (o instanceof Failure) {
         final Failure<?> failure = (Failure<?>) o;
         return this.exception.equals(failure.exception);
+      } else if (o instanceof Forwarding) {
+        return this.equals(((Forwarding<?>) o).delegate());
       } else {
         return false;
       }
     }
   }
+
+  /**
+   * A {@link Try} forwarding its state to another one.
+   *
+   * @param <D> type
+   */
+  private abstract static class Forwarding<D> extends Try<D> implements Serializable {
+    private static final long serialVersionUID = 7710292416361218549L;
+
+    /**
+     * Returns the {@link Try} whose state is forwarded.
+     *
+     * @return the {@link Try} forwarded to
+     */
+    abstract Try<D> delegate();
+
+    /**
+     * Serializes the {@link Try} forwarded to instead of this one.
+     *
+     * @return the {@link Try} forwarded to
+     */
+    Object writeReplace() {
+      return this.delegate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isSuccess() {
+      return this.delegate().isSuccess();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public D get() {
+      return this.delegate().get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<D> getOptional() {
+      return this.delegate().getOptional();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isFailure() {
+      return this.delegate().isFailure();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Throwable getCause() {
+      return this.delegate().getCause();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public D orElseGet(final D other) {
+      return this.delegate().orElseGet(other);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public D orElseGet(final Supplier<? extends D> other) {
+      return this.delegate().orElseGet(other);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <X extends Throwable> D orElseThrow(final Supplier<? extends X> exceptionSupplier)
+        throws X {
+      return this.delegate().orElseThrow(exceptionSupplier);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public D orElseThrow(final Throwable throwable) {
+      return this.delegate().orElseThrow(throwable);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isResult() {
+      return this.delegate().isResult();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+      return this.delegate().hashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Contract(value = "null -> false")
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o instanceof Forwarding) {
+        return this.delegate().equals(((Forwarding<?>) o).delegate());
+      }
+      return this.delegate().equals(o);
+    }
+  }
+
+  private static final class Lazy<L> extends Forwarding<L> {
+    private static final long serialVersionUID = 2815436079043567291L;
+
+    /** Tries the operation, released once the outcome is known. */
+    private transient Supplier<Try<L>> operation;
+
+    /** The outcome, set once. */
+    private transient volatile Try<L> outcome;
+
+    private Lazy(final Supplier<Try<L>> operation) {
+      this.operation = operation;
+    }
+
+    /**
+     * Tries the operation on first call and returns its outcome.
+     *
+     * @return the memoized outcome
+     */
+    @Override
+    Try<L> delegate() {
+      Try<L> result = this.outcome;
+      if (result == null) {
+        synchronized (this) {
+          result = this.outcome;
+          if (result == null) {
+            result = this.operation.get();
+            this.outcome = result;
+            this.operation = null;
+          }
+        }
+      }
+      return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <M> @NotNull Try<M> map(final ThrowingFunction<? super L, ? extends M> mapper) {
+      Objects.requireNonNull(mapper, "Mapper cannot be null.");
+      return new Lazy<>(() -> this.delegate().map(mapper));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <M> @NotNull Try<M> flatMap(
+        final ThrowingFunction<? super L, ? extends Try<? extends M>> mapper) {
+      Objects.requireNonNull(mapper, "Mapper cannot be null.");
+      return new Lazy<>(() -> this.delegate().flatMap(mapper));
+    }
+  }
+
+  private static final class Within<W> extends Forwarding<W> {
+    private static final long serialVersionUID = 5193025803710475611L;
+
+    /** The {@link Try} carrying the deadline. */
+    private final transient Try<W> bounded;
+
+    /** The deadline, in {@link System#nanoTime()} terms. */
+    private final long deadline;
+
+    private Within(final Try<W> bounded, final long deadline) {
+      this.bounded = bounded;
+      this.deadline = deadline;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Contract(pure = true)
+    Try<W> delegate() {
+      return this.bounded;
+    }
+
+    /**
+     * Fails with a {@link TimeoutException} if the deadline has passed.
+     *
+     * @throws TimeoutException if the deadline has passed
+     */
+    private void checkDeadline() throws TimeoutException {
+      if (System.nanoTime() - this.deadline >= 0L) {
+        throw new TimeoutException("Deadline exceeded.");
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <M> @NotNull Try<M> map(final ThrowingFunction<? super W, ? extends M> mapper) {
+      Objects.requireNonNull(mapper, "Mapper cannot be null.");
+      return new Within<>(
+          this.bounded.map(
+              result -> {
+                this.checkDeadline();
+                return mapper.apply(result);
+              }),
+          this.deadline);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <M> @NotNull Try<M> flatMap(
+        final ThrowingFunction<? super W, ? extends Try<? extends M>> mapper) {
+      Objects.requireNonNull(mapper, "Mapper cannot be null.");
+      return new Within<>(
+          this.bounded.flatMap(
+              result -> {
+                this.checkDeadline();
+                return mapper.apply(result);
+              }),
+          this.deadline);
+    }
+  }
 }
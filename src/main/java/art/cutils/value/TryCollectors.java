@@ -0,0 +1,176 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * {@link Collector}s and helpers to gather a stream of {@link Try} in a single pass.
+ *
+ * <p>The collectors keep one container per stream segment and merge them in encounter order, so
+ * they can be used with parallel streams as well.
+ *
+ * <pre>{@code
+ * final Pair<List<Integer>, List<Throwable>> parsed =
+ *     lines.parallelStream().map(line -> Try.of(() -> Integer.parseInt(line)))
+ *         .collect(TryCollectors.partitioning());
+ * }</pre>
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class TryCollectors {
+
+  /** Locked for life. */
+  @Contract(pure = true)
+  private TryCollectors() {}
+
+  /**
+   * Returns a {@link Collector} splitting the {@link Try} elements into the results of the
+   * successes, first, and the causes of the failures, second.
+   *
+   * @param <T> result type
+   * @return a {@link Collector} of a {@link Pair} of results and causes, both in encounter order
+   */
+  @Contract(pure = true)
+  public static <T> @NotNull Collector<Try<T>, ?, Pair<List<T>, List<Throwable>>> partitioning() {
+    return Collector.of(
+        Partition<T>::new,
+        Partition::add,
+        Partition::merge,
+        partition -> Pair.of(partition.results, partition.causes));
+  }
+
+  /**
+   * Returns a {@link Collector} gathering the {@link Try} elements into a single {@link Try} of the
+   * list of results. The collected {@link Try} fails with the cause of the first failure in
+   * encounter order; once a failure is met, later results are no longer kept.
+   *
+   * @param <T> result type
+   * @return a {@link Collector} of a {@link Try} of the results in encounter order
+   */
+  @Contract(pure = true)
+  public static <T> @NotNull Collector<Try<T>, ?, Try<List<T>>> toList() {
+    return Collector.of(Sequence<T>::new, Sequence::add, Sequence::merge, Sequence::toTry);
+  }
+
+  /**
+   * Gathers the {@link Try} elements into a single {@link Try} of the list of results, stopping at
+   * the first failure. Unlike {@link #toList()}, no element past the first failure is pulled from
+   * the stream, so upstream work such as {@link Try#lazy} operations is not performed.
+   *
+   * @param tries stream of {@link Try}, closed once gathered
+   * @param <T> result type
+   * @return a {@link Try} of the results in encounter order, or the first failure
+   */
+  public static <T> @NotNull Try<List<T>> sequence(final @NotNull Stream<Try<T>> tries) {
+    Objects.requireNonNull(tries, "tries cannot be null");
+    try (final Stream<Try<T>> stream = tries) {
+      final List<T> results = new ArrayList<>();
+      final Iterator<Try<T>> iterator = stream.iterator();
+      while (iterator.hasNext()) {
+        final Try<T> next = iterator.next();
+        if (next.isFailure()) {
+          return Try.failure(next.getCause());
+        }
+        results.add(next.get());
+      }
+      return Try.of(() -> results);
+    }
+  }
+
+  /**
+   * Mutable container of {@link #partitioning()}.
+   *
+   * @param <T> result type
+   */
+  private static final class Partition<T> {
+    private final List<T> results = new ArrayList<>();
+    private final List<Throwable> causes = new ArrayList<>();
+
+    private void add(final Try<T> next) {
+      if (next.isSuccess()) {
+        this.results.add(next.get());
+      } else {
+        this.causes.add(next.getCause());
+      }
+    }
+
+    private Partition<T> merge(final Partition<T> right) {
+      this.results.addAll(right.results);
+      this.causes.addAll(right.causes);
+      return this;
+    }
+  }
+
+  /**
+   * Mutable container of {@link #toList()}.
+   *
+   * @param <T> result type
+   */
+  private static final class Sequence<T> {
+    private List<T> results = new ArrayList<>();
+    private Throwable cause;
+
+    private void add(final Try<T> next) {
+      if (this.cause != null) {
+        return;
+      }
+      if (next.isSuccess()) {
+        this.results.add(next.get());
+      } else {
+        this.cause = next.getCause();
+        this.results = null;
+      }
+    }
+
+    private Sequence<T> merge(final Sequence<T> right) {
+      if (this.cause == null) {
+        if (right.cause == null) {
+          this.results.addAll(right.results);
+        } else {
+          this.cause = right.cause;
+          this.results = null;
+        }
+      }
+      return this;
+    }
+
+    private Try<List<T>> toTry() {
+      if (this.cause != null) {
+        return Try.failure(this.cause);
+      }
+      final List<T> list = this.results;
+      return Try.of(() -> list);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@link TaskEvent} recorded to JDK Flight Recorder, when the task ran longer than the
+ * threshold of the event. The threshold is set in the settings of the recording, like that of any
+ * other event.
+ *
+ * <p>This class only exists in the {@code META-INF/versions/11} part of the jar, {@link TaskEvent}
+ * finds it through {@link #starter()}.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+@Name("art.cutils.SyndicateTask")
+@Label("Syndicate Task")
+@Category({"cutils", "Syndicate"})
+@Description("A task of a Syndicate which ran longer than the threshold")
+@Threshold("10 ms")
+@StackTrace(false)
+final class FlightTaskEvent extends Event implements TaskEvent {
+
+  @Label("Task")
+  private String task;
+
+  @Label("Queue Wait")
+  @Timespan(Timespan.NANOSECONDS)
+  private long queueWait;
+
+  @Label("Outcome")
+  private String outcome;
+
+  /** Sealed. */
+  private FlightTaskEvent() {}
+
+  /**
+   * Returns how to start the events, looked up by {@link TaskEvent}.
+   *
+   * @return starts the event of a task
+   */
+  static Supplier<TaskEvent> starter() {
+    return FlightTaskEvent::start;
+  }
+
+  private static TaskEvent start() {
+    final FlightTaskEvent event = new FlightTaskEvent();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void finish(final String task, final long queueWaitNanos, final String outcome) {
+    this.end();
+    if (this.shouldCommit()) {
+      this.task = task;
+      this.queueWait = queueWaitNanos;
+      this.outcome = outcome;
+      this.commit();
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package art.cutils.value;
+
+import art.cutils.function.ThrowingUnaryOperation;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a {@link Que} stage, usually a compiled {@link Que.Pipeline}, as a {@link Flow.Processor}:
+ * it subscribes to a reactive source, applies the stage to every item on its executor, then
+ * publishes the results to its own subscribers.
+ *
+ * <p>Demand drives the flow. At most {@code bufferSize} items are requested from upstream ahead of
+ * processing, and one more is only requested once an item has been handed to the subscribers. When
+ * a subscriber falls behind and its buffer fills up, processing waits for it, which in turn stops
+ * the requests upstream; no queue between the stages grows without bound.
+ *
+ * <pre>{@code
+ * final QueProcessor<Event> enrich =
+ *     QueProcessor.of(Que.<Event>blueprint().andAccept(validator::check).andCall(...).compile());
+ * source.subscribe(enrich);
+ * enrich.subscribe(sink);
+ * }</pre>
+ *
+ * <p>While a subscriber is full, the drain waits for it on a thread of the executor, which must
+ * therefore have another thread to deliver the items; the common pool of the default executor
+ * makes up for the waiting thread.
+ *
+ * <p>A stage returning {@code null} drops the item. A stage failure cancels the upstream
+ * subscription and completes the subscribers exceptionally with it. A failure, of the stage or
+ * upstream, reaches the subscribers at once, like {@link #closeExceptionally(Throwable)} does:
+ * the items they were not handed yet are dropped.
+ *
+ * <p>This class requires Java 9 and is shipped in the jar with the {@code flow} classifier, next
+ * to the main jar which it depends on.
+ *
+ * @param <T> type of the items
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class QueProcessor<T> extends SubmissionPublisher<T>
+    implements Flow.Processor<T, T> {
+
+  /** The stage applied to every item. */
+  private final ThrowingUnaryOperation<T> stage;
+
+  /** Runs the stage. */
+  private final Executor executor;
+
+  /** Maximum number of items requested from upstream and not yet processed. */
+  private final int bufferSize;
+
+  /** Items received and not yet processed, never more than {@link #bufferSize}. */
+  private final Queue<T> items = new ConcurrentLinkedQueue<>();
+
+  /** Pending drain requests; the drain only runs while it is positive. */
+  private final AtomicInteger work = new AtomicInteger();
+
+  /** The upstream subscription. */
+  private volatile Flow.Subscription subscription;
+
+  /** Set once upstream completed or failed. */
+  private volatile boolean done;
+
+  /** The upstream failure, if any. */
+  private volatile Throwable failure;
+
+  /**
+   * Sealed.
+   *
+   * @param stage the stage applied to every item
+   * @param executor runs the stage and delivers the results
+   * @param bufferSize maximum number of items buffered, upstream and per subscriber
+   */
+  private QueProcessor(
+      final ThrowingUnaryOperation<T> stage, final Executor executor, final int bufferSize) {
+    super(executor, bufferSize);
+    this.stage = stage;
+    this.executor = executor;
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Creates a processor running the stage on the {@link ForkJoinPool#commonPool()}, buffering
+   * {@link Flow#defaultBufferSize()} items.
+   *
+   * @param stage the stage applied to every item
+   * @param <T> type of the items
+   * @return new instance of {@link QueProcessor}
+   */
+  @Contract("_ -> new")
+  public static <T> @NotNull QueProcessor<T> of(final ThrowingUnaryOperation<T> stage) {
+    return QueProcessor.of(stage, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+  }
+
+  /**
+   * Creates a processor running the stage on the {@code executor}.
+   *
+   * @param stage the stage applied to every item
+   * @param executor runs the stage and delivers the results
+   * @param bufferSize maximum number of items buffered, upstream and per subscriber
+   * @param <T> type of the items
+   * @return new instance of {@link QueProcessor}
+   * @throws IllegalArgumentException if {@code bufferSize} is not positive
+   */
+  @Contract("_, _, _ -> new")
+  public static <T> @NotNull QueProcessor<T> of(
+      final ThrowingUnaryOperation<T> stage, final Executor executor, final int bufferSize) {
+    Objects.requireNonNull(stage, "stage cannot be null");
+    Objects.requireNonNull(executor, "executor cannot be null");
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be at least 1");
+    }
+    return new QueProcessor<>(stage, executor, bufferSize);
+  }
+
+  @Override
+  public void onSubscribe(final Flow.Subscription subscription) {
+    Objects.requireNonNull(subscription, "subscription cannot be null");
+    if (Objects.nonNull(this.subscription) || this.isClosed()) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    subscription.request(this.bufferSize);
+  }
+
+  @Override
+  public void onNext(final T item) {
+    Objects.requireNonNull(item, "item cannot be null");
+    this.items.offer(item);
+    this.drain();
+  }
+
+  @Override
+  public void onError(final Throwable throwable) {
+    this.failure = Objects.requireNonNull(throwable, "throwable cannot be null");
+    this.done = true;
+    this.drain();
+  }
+
+  @Override
+  public void onComplete() {
+    this.done = true;
+    this.drain();
+  }
+
+  private void drain() {
+    if (this.work.getAndIncrement() == 0) {
+      try {
+        this.executor.execute(this::process);
+      } catch (final RejectedExecutionException e) {
+        this.fail(e);
+      }
+    }
+  }
+
+  /** Processes the buffered items, one drain at a time so the items keep their order. */
+  private void process() {
+    int missed = 1;
+    do {
+      T item;
+      while (Objects.nonNull(item = this.items.poll())) {
+        if (this.isClosed()) {
+          this.fail(null);
+          return;
+        }
+        final T result;
+        try {
+          result = this.stage.apply(item);
+        } catch (final Exception e) {
+          this.fail(e);
+          return;
+        }
+        if (Objects.nonNull(result)) {
+          this.submit(result);
+        }
+        this.subscription.request(1L);
+      }
+      final boolean terminated = this.done;
+      if (terminated && this.items.isEmpty()) {
+        if (Objects.isNull(this.failure)) {
+          this.close();
+        } else {
+          this.closeExceptionally(this.failure);
+        }
+        return;
+      }
+      missed = this.work.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  /**
+   * Stops processing: cancels upstream, drops the buffered items and fails the subscribers.
+   *
+   * @param cause the failure, {@code null} when the processor was closed
+   */
+  private void fail(final Throwable cause) {
+    final Flow.Subscription upstream = this.subscription;
+    if (Objects.nonNull(upstream)) {
+      upstream.cancel();
+    }
+    this.items.clear();
+    if (Objects.nonNull(cause)) {
+      this.closeExceptionally(cause);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "QueProcessor{"
+        + "bufferSize="
+        + this.bufferSize
+        + ", buffered="
+        + this.items.size()
+        + ", subscribers="
+        + this.getNumberOfSubscribers()
+        + ", closed="
+        + this.isClosed()
+        + '}';
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.AdaptiveLimit;
+import art.cutils.value.Syndicate;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class AdaptiveLimitTest {
+
+  private static void run(
+      final AdaptiveLimit limit, final int tasks, final long sleepMillis, final AtomicInteger peak) {
+    final AtomicInteger running = new AtomicInteger();
+    try (final Syndicate<Integer> syndicate = Syndicate.init()) {
+      syndicate
+          .limit(limit)
+          .addAll(
+              IntStream.range(0, tasks)
+                  .mapToObj(
+                      i ->
+                          () -> {
+                            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            try {
+                              TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                            } finally {
+                              running.decrementAndGet();
+                            }
+                            return i;
+                          }))
+          .apply()
+          .gather()
+          .forEach(result -> assertTrue(result.isSuccess()));
+    }
+  }
+
+  @Test
+  void testAimdGrowsWhileFastAndBacksOffWhenSlow() {
+    final AdaptiveLimit limit = AdaptiveLimit.aimd(4, Duration.ofMillis(10)).bounds(2, 16);
+    final AtomicInteger peak = new AtomicInteger();
+
+    AdaptiveLimitTest.run(limit, 200, 1, peak);
+    final int grown = limit.getLimit();
+    assertTrue(grown > 4, limit::toString);
+    assertTrue(peak.get() <= 16);
+
+    AdaptiveLimitTest.run(limit, 40, 30, new AtomicInteger());
+    assertTrue(limit.getLimit() < grown, limit::toString);
+    assertEquals(0, limit.getInFlight());
+  }
+
+  @Test
+  void testGradientBacksOffWhenLatencyRises() {
+    final AdaptiveLimit limit = AdaptiveLimit.gradient(10).bounds(1, 50);
+    final AtomicInteger peak = new AtomicInteger();
+
+    AdaptiveLimitTest.run(limit, 300, 1, peak);
+    final int grown = limit.getLimit();
+    assertTrue(grown > 10, limit::toString);
+    assertTrue(peak.get() <= 50);
+
+    AdaptiveLimitTest.run(limit, 30, 20, new AtomicInteger());
+    assertTrue(limit.getLimit() < grown, limit::toString);
+    assertEquals(0, limit.getInFlight());
+  }
+
+  @Test
+  void testTimeoutsShrinkTheLimit() {
+    final AdaptiveLimit limit = AdaptiveLimit.gradient(8).backoffRatio(0.5);
+    try (final Syndicate<String> syndicate = Syndicate.<String>init().limit(limit)) {
+      final Try<String> timedOut =
+          syndicate
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "late";
+                  },
+                  10,
+                  TimeUnit.MILLISECONDS)
+              .apply()
+              .gather()
+              .get(0);
+      assertTrue(timedOut.isFailure());
+    }
+    assertEquals(4, limit.getLimit());
+  }
+
+  @Test
+  void testAimdBacksOffOncePerRoundTrip() {
+    final AdaptiveLimit limit = AdaptiveLimit.aimd(8, Duration.ofMillis(5)).backoffRatio(0.5);
+
+    AdaptiveLimitTest.run(limit, 8, 30, new AtomicInteger());
+    assertEquals(4, limit.getLimit());
+
+    AdaptiveLimitTest.run(limit, 12, 30, new AtomicInteger());
+    assertEquals(1, limit.getLimit());
+  }
+
+  @Test
+  void testInitialLimitIsBounded() {
+    assertEquals(1000, AdaptiveLimit.gradient(5000).getLimit());
+    assertEquals(1000, AdaptiveLimit.aimd(5000, Duration.ofMillis(5)).getLimit());
+    assertEquals(10, AdaptiveLimit.gradient(50).bounds(1, 10).getLimit());
+  }
+
+  @Test
+  void testInvalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.gradient(0));
+    assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.aimd(1, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> AdaptiveLimit.gradient(1).bounds(2, 1));
+    assertThrows(
+        IllegalArgumentException.class, () -> AdaptiveLimit.gradient(1).backoffRatio(1.0));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Bulkhead;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BulkheadTest {
+
+  @Test
+  void testSaturatedBulkheadRejectsImmediately() throws Exception {
+    final Bulkhead bulkhead = Bulkhead.of(1);
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Try<String>> holder =
+          executor.submit(
+              () ->
+                  bulkhead.call(
+                      () -> {
+                        entered.countDown();
+                        release.await();
+                        return "held";
+                      }));
+      assertTrue(entered.await(5, TimeUnit.SECONDS));
+      assertEquals(1.0, bulkhead.getUtilization());
+      assertEquals(0, bulkhead.getAvailableCalls());
+
+      final Try<String> rejected = bulkhead.call(() -> "rejected");
+      assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+      assertEquals(1, bulkhead.getRejectedCalls());
+
+      release.countDown();
+      assertEquals("held", holder.get(5, TimeUnit.SECONDS).get());
+      assertEquals(0.0, bulkhead.getUtilization());
+      assertTrue(bulkhead.execute(() -> {}).isSuccess());
+      assertEquals(2, bulkhead.getAcceptedCalls());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testBoundedWaitForPermit() throws Exception {
+    final Bulkhead bulkhead = Bulkhead.of(1).maxWait(Duration.ofSeconds(5));
+    final CountDownLatch entered = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(
+          () ->
+              bulkhead.execute(
+                  () -> {
+                    entered.countDown();
+                    TimeUnit.MILLISECONDS.sleep(50);
+                  }));
+      assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+      assertEquals("waited", bulkhead.call(() -> "waited").get());
+      assertEquals(0, bulkhead.getRejectedCalls());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testInvalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> Bulkhead.of(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> Bulkhead.of(1).maxWait(Duration.ofMillis(-1)));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.CircuitBreaker;
+import art.cutils.value.CircuitBreaker.State;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CircuitBreakerTest {
+
+  @Test
+  void testBreakerOpensOnFailureRateAndRejectsCalls() {
+    final CircuitBreaker breaker = CircuitBreaker.of(4).failureRateThreshold(0.5);
+    final AtomicInteger calls = new AtomicInteger();
+
+    breaker.call(() -> calls.incrementAndGet());
+    breaker.call(() -> calls.incrementAndGet());
+    breaker.call(() -> Integer.parseInt("x" + calls.incrementAndGet()));
+    assertEquals(State.CLOSED, breaker.getState());
+
+    breaker.call(() -> Integer.parseInt("x" + calls.incrementAndGet()));
+    assertEquals(State.OPEN, breaker.getState());
+
+    final Try<Integer> rejected = breaker.call(calls::incrementAndGet);
+    assertTrue(rejected.isFailure());
+    assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+    assertSame(rejected, breaker.execute(calls::incrementAndGet));
+    assertEquals(4, calls.get());
+  }
+
+  @Test
+  void testBreakerClosesAfterSuccessfulTrialCalls() throws Exception {
+    final CircuitBreaker breaker =
+        CircuitBreaker.of(2).waitInOpen(Duration.ofMillis(20)).permittedCallsInHalfOpen(2);
+
+    breaker.execute(() -> {
+      throw new IOException("down");
+    });
+    breaker.execute(() -> {
+      throw new IOException("down");
+    });
+    assertEquals(State.OPEN, breaker.getState());
+
+    TimeUnit.MILLISECONDS.sleep(30);
+
+    assertTrue(breaker.call(() -> 1).isSuccess());
+    assertEquals(State.HALF_OPEN, breaker.getState());
+    assertTrue(breaker.call(() -> 2).isSuccess());
+    assertEquals(State.CLOSED, breaker.getState());
+    assertEquals(0.0, breaker.getFailureRate());
+  }
+
+  @Test
+  void testBreakerReopensWhenTrialCallsFail() throws Exception {
+    final CircuitBreaker breaker =
+        CircuitBreaker.of(1).waitInOpen(Duration.ofMillis(10)).permittedCallsInHalfOpen(1);
+
+    breaker.call(() -> Integer.parseInt("x"));
+    assertEquals(State.OPEN, breaker.getState());
+
+    TimeUnit.MILLISECONDS.sleep(20);
+
+    assertTrue(breaker.call(() -> Integer.parseInt("y")).getCause() instanceof NumberFormatException);
+    assertEquals(State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void testTrialCallThrowingAnErrorIsRecorded() throws Exception {
+    final CircuitBreaker breaker =
+        CircuitBreaker.of(1).waitInOpen(Duration.ofMillis(10)).permittedCallsInHalfOpen(1);
+
+    breaker.call(() -> Integer.parseInt("x"));
+    TimeUnit.MILLISECONDS.sleep(20);
+
+    assertThrows(
+        AssertionError.class,
+        () ->
+            breaker.call(
+                () -> {
+                  throw new AssertionError("broken");
+                }));
+    assertEquals(State.OPEN, breaker.getState());
+
+    TimeUnit.MILLISECONDS.sleep(20);
+    assertTrue(breaker.call(() -> 1).isSuccess());
+    assertEquals(State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void testBreakerOpensOnSlowCalls() {
+    final CircuitBreaker breaker =
+        CircuitBreaker.of(2).slowCallRateThreshold(1.0, Duration.ofMillis(5));
+
+    breaker.execute(() -> TimeUnit.MILLISECONDS.sleep(10));
+    assertEquals(1.0, breaker.getSlowCallRate());
+    assertEquals(State.CLOSED, breaker.getState());
+
+    breaker.execute(() -> TimeUnit.MILLISECONDS.sleep(10));
+    assertEquals(State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void testInvalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.of(0));
+    assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.of(5).minimumCalls(6));
+    assertThrows(IllegalArgumentException.class, () -> CircuitBreaker.of(5).failureRateThreshold(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> CircuitBreaker.of(5).permittedCallsInHalfOpen(0));
+  }
+}
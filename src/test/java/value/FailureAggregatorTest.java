@@ -0,0 +1,99 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.FailureAggregator;
+import art.cutils.value.FailureAggregator.Entry;
+import art.cutils.value.FailureListener;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class FailureAggregatorTest {
+
+  @Test
+  void testFailuresAreGroupedByTypeAndSite() {
+    final FailureAggregator aggregator = FailureAggregator.create();
+    final int[] empty = new int[0];
+    Try.addFailureListener(aggregator);
+    try {
+      IntStream.range(0, 30).forEach(i -> Try.of(() -> Integer.parseInt("x")));
+      IntStream.range(0, 10).forEach(i -> Try.of(() -> empty[0]));
+      Try.of(() -> Integer.parseInt("y")).map(i -> i + 1).map(i -> i + 2);
+    } finally {
+      assertTrue(Try.removeFailureListener(aggregator));
+    }
+    Try.of(() -> Integer.parseInt("z"));
+
+    assertEquals(41, aggregator.getTotal());
+    final List<Entry> top = aggregator.top(5);
+    assertEquals(2, top.size());
+    assertEquals(NumberFormatException.class, top.get(0).getType());
+    assertEquals(31, top.get(0).getCount());
+    assertEquals(ArrayIndexOutOfBoundsException.class, top.get(1).getType());
+    assertEquals(10, top.get(1).getCount());
+    assertTrue(aggregator.getRate() > 0.0);
+
+    aggregator.reset();
+    assertEquals(0, aggregator.getTotal());
+    assertTrue(aggregator.top(5).isEmpty());
+  }
+
+  @Test
+  void testSamplingAndSiteBound() {
+    final FailureAggregator aggregator = FailureAggregator.create().sampleOneIn(4).maxSites(1);
+    IntStream.range(0, 10_000).forEach(i -> aggregator.onFailure(new IllegalStateException()));
+    aggregator.onFailure(new RuntimeException());
+
+    assertEquals(10_001, aggregator.getTotal());
+    final long estimated = aggregator.top(1).get(0).getCount() + aggregator.getUntracked();
+    assertTrue(Math.abs(estimated - 10_001) < 1_000, "estimate " + estimated);
+  }
+
+  @Test
+  void testFaultyListenerDoesNotChangeOutcome() {
+    final AtomicInteger calls = new AtomicInteger();
+    final FailureListener faulty =
+        cause -> {
+          calls.incrementAndGet();
+          throw new IllegalStateException("faulty");
+        };
+    Try.addFailureListener(faulty);
+    try {
+      final Try<Integer> result = Try.of(() -> Integer.parseInt("x"));
+      assertTrue(result.getCause() instanceof NumberFormatException);
+      assertEquals(1, calls.get());
+    } finally {
+      Try.removeFailureListener(faulty);
+    }
+    assertFalse(Try.removeFailureListener(faulty));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.FairScheduler;
+import art.cutils.value.Syndicate;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class FairSchedulerTest {
+
+  @Test
+  void testLanesShareTheExecutorByWeight() throws Exception {
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      final FairScheduler scheduler = FairScheduler.of(executor, 1);
+      final ExecutorService gate = scheduler.lane(1);
+      final ExecutorService bulk = scheduler.lane(1);
+      final ExecutorService interactive = scheduler.lane(4);
+      final CountDownLatch release = new CountDownLatch(1);
+      final List<String> order = new CopyOnWriteArrayList<>();
+
+      gate.execute(
+          () -> {
+            try {
+              release.await();
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      for (int i = 0; i < 10; i++) {
+        bulk.execute(() -> order.add("b"));
+      }
+      for (int i = 0; i < 10; i++) {
+        interactive.execute(() -> order.add("i"));
+      }
+      release.countDown();
+      bulk.shutdown();
+      interactive.shutdown();
+
+      assertTrue(bulk.awaitTermination(5, TimeUnit.SECONDS));
+      assertTrue(interactive.awaitTermination(5, TimeUnit.SECONDS));
+      assertEquals(
+          Arrays.asList("b", "i", "i", "i", "i", "b", "i", "i", "i", "i", "b", "i", "i", "b"),
+          order.subList(0, 14));
+      assertEquals(20, order.size());
+      assertFalse(gate.isShutdown());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testSyndicatesOnLanesOfOnePool() {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final FairScheduler scheduler = FairScheduler.of(executor, 4);
+      final List<Integer> results;
+      try (final Syndicate<Integer> syndicate = Syndicate.init(scheduler.lane(2))) {
+        for (int i = 0; i < 100; i++) {
+          final int value = i;
+          syndicate.add(() -> value);
+        }
+        results =
+            syndicate.apply().gather().stream().map(Try::get).collect(Collectors.toList());
+      }
+      assertEquals(100, results.size());
+      assertEquals(4950, results.stream().mapToInt(Integer::intValue).sum());
+      assertFalse(executor.isShutdown());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testShutdownLane() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final FairScheduler scheduler = FairScheduler.of(executor, 1);
+      final ExecutorService lane = scheduler.lane(1);
+      final ExecutorService other = scheduler.lane(1);
+      final CountDownLatch entered = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      lane.execute(
+          () -> {
+            entered.countDown();
+            try {
+              release.await();
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+      assertTrue(entered.await(5, TimeUnit.SECONDS));
+      lane.execute(() -> {});
+      lane.execute(() -> {});
+
+      assertEquals(2, lane.shutdownNow().size());
+      assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> {}));
+      assertFalse(lane.isTerminated());
+      assertFalse(lane.awaitTermination(10, TimeUnit.MILLISECONDS));
+
+      release.countDown();
+      assertTrue(lane.awaitTermination(5, TimeUnit.SECONDS));
+      assertEquals("other", other.submit(() -> "other").get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testInvalidConfiguration() {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThrows(IllegalArgumentException.class, () -> FairScheduler.of(executor, 0));
+      assertThrows(IllegalArgumentException.class, () -> FairScheduler.of(executor, 1).lane(0));
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Hedge;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HedgeTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void shutdown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  void testFastFirstAttemptIsNotHedged() {
+    final long triggered = Hedge.getTriggered();
+    final AtomicInteger attempts = new AtomicInteger();
+
+    final Try<Integer> result =
+        Try.hedge(attempts::incrementAndGet, Duration.ofSeconds(5), 3, this.executor);
+
+    assertEquals(1, result.get());
+    assertEquals(1, attempts.get());
+    assertEquals(triggered, Hedge.getTriggered());
+  }
+
+  @Test
+  void testSlowFirstAttemptIsHedgedAndCancelled() throws Exception {
+    final long won = Hedge.getWon();
+    final AtomicInteger attempts = new AtomicInteger();
+    final CountDownLatch cancelled = new CountDownLatch(1);
+
+    final Try<String> result =
+        Try.hedge(
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                try {
+                  TimeUnit.SECONDS.sleep(10);
+                } catch (final InterruptedException e) {
+                  cancelled.countDown();
+                  throw e;
+                }
+                return "slow";
+              }
+              return "hedged";
+            },
+            Duration.ofMillis(20),
+            2,
+            this.executor);
+
+    assertEquals("hedged", result.get());
+    assertEquals(2, attempts.get());
+    assertTrue(Hedge.getWon() > won);
+    assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testFailuresAreHedgedImmediately() {
+    final AtomicInteger attempts = new AtomicInteger();
+
+    final Try<String> result =
+        Try.hedge(
+            () -> {
+              throw new IOException("attempt " + attempts.incrementAndGet());
+            },
+            Duration.ofSeconds(5),
+            3,
+            this.executor);
+
+    assertTrue(result.isFailure());
+    assertEquals("attempt 3", result.getCause().getMessage());
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Try.hedge(() -> 1, Duration.ofMillis(1), 0, this.executor));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> Try.hedge(() -> 1, Duration.ofMillis(-1), 2, this.executor));
+  }
+}
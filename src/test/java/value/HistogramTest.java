@@ -0,0 +1,80 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Histogram;
+import art.cutils.value.Histogram.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HistogramTest {
+
+  @Test
+  void testPercentilesAreWithinBucketPrecision() {
+    final Histogram histogram = Histogram.create();
+    IntStream.rangeClosed(1, 10_000).parallel().forEach(histogram::record);
+
+    final Snapshot snapshot = histogram.snapshot();
+    assertEquals(10_000, snapshot.getCount());
+    assertEquals(10_000, snapshot.getMax());
+    assertEquals(5_000.5, snapshot.getMean());
+
+    final long p50 = snapshot.getPercentile(50.0);
+    assertTrue(p50 >= 5_000 && p50 <= 5_000 * 1.125, "p50 " + p50);
+    final long p99 = snapshot.getPercentile(99.0);
+    assertTrue(p99 >= 9_900 && p99 <= 10_000, "p99 " + p99);
+    assertEquals(1, snapshot.getPercentile(0.0));
+    assertEquals(10_000, snapshot.getPercentile(100.0));
+  }
+
+  @Test
+  void testSmallAndLargeValues() {
+    final Histogram histogram = Histogram.create();
+    histogram.record(-5);
+    histogram.record(3);
+    histogram.record(Long.MAX_VALUE);
+
+    final Snapshot snapshot = histogram.snapshot();
+    assertEquals(0, snapshot.getPercentile(1.0));
+    assertEquals(3, snapshot.getPercentile(50.0));
+    assertEquals(Long.MAX_VALUE, snapshot.getPercentile(100.0));
+  }
+
+  @Test
+  void testResetAndEmptySnapshot() {
+    final Histogram histogram = Histogram.create();
+    histogram.record(42);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.snapshot().getPercentile(99.0));
+    assertEquals(0.0, histogram.snapshot().getMean());
+    assertThrows(IllegalArgumentException.class, () -> histogram.snapshot().getPercentile(101.0));
+  }
+}
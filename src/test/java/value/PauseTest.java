@@ -30,7 +30,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.of;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import art.cutils.function.Dealer;
 import art.cutils.function.Executable;
@@ -217,4 +219,21 @@ final class PauseTest {
               Assertions.assertFalse(result.isResult());
             });
   }
-}
\ No newline at end of file
+
+  @Test
+  void testThenRunAsyncDoesNotBlock() throws Exception {
+    final long start = System.nanoTime();
+    final AtomicBoolean ran = new AtomicBoolean();
+    final CompletableFuture<Try<String>> dealt =
+        Pause.<String>until(200).milliSeconds().thenRunAsync(() -> "after");
+    final CompletableFuture<Try<String>> executed =
+        Pause.<String>until(200).milliSeconds().thenRunAsync(() -> ran.set(true));
+
+    assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(150));
+    assertFalse(dealt.isDone());
+    assertEquals("after", dealt.get(5, TimeUnit.SECONDS).get());
+    assertTrue(executed.get(5, TimeUnit.SECONDS).isSuccess());
+    assertTrue(ran.get());
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+  }
+}
@@ -23,15 +23,29 @@
 package value;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import art.cutils.value.Que;
+import art.cutils.value.QueTimings;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 
@@ -224,4 +238,231 @@ final class QueTest {
     assertNotEquals(q1, "q2");
     assertNotEquals(q1.hashCode(), q2.hashCode());
   }
+
+  @Test
+  void testCompiledPipelineRunsOverManyValues() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+    final List<String> seen = new ArrayList<>();
+    final Que.Blueprint<String> blueprint =
+        Que.<String>blueprint()
+            .andConsume(seen::add)
+            .andRun(runs::incrementAndGet)
+            .execute(value -> assertNotNull(value))
+            .andAccept(value -> seen.add(value.toUpperCase()));
+    final Que.Pipeline<String> pipeline = blueprint.compile();
+
+    assertEquals(0, runs.get());
+    assertEquals(4, pipeline.size());
+
+    assertEquals("a", pipeline.apply("a"));
+    assertEquals("b", pipeline.que("b").get());
+    assertEquals(2, runs.get());
+    assertEquals(4, seen.size());
+    assertEquals("B", seen.get(3));
+
+    final Que.Pipeline<String> replacing =
+        blueprint.andCall(() -> "called").andExecute(runs::incrementAndGet).compile();
+    assertEquals("called", replacing.apply("c"));
+    assertEquals(4, pipeline.size());
+    assertEquals(6, replacing.size());
+  }
+
+  @Test
+  void testPipelineStageExceptionsAreThrown() throws Exception {
+    final Que.Pipeline<Integer> pipeline =
+        Que.<Integer>blueprint()
+            .andSupply(() -> 1)
+            .andDeal(
+                () -> {
+                  throw new IllegalStateException("dealt");
+                })
+            .compile();
+
+    assertThrows(IllegalStateException.class, () -> pipeline.apply(0));
+    assertEquals(5, Que.<Integer>blueprint().compile().apply(5));
+  }
+
+  @Test
+  void testLongPipelineRunsInALoop() throws Exception {
+    final Que.Blueprint<Integer> blueprint = Que.blueprint();
+    for (int i = 0; i < 100_000; i++) {
+      blueprint.andSupply(() -> 1);
+    }
+    final Que.Pipeline<Integer> pipeline = blueprint.compile();
+
+    assertEquals(100_000, pipeline.size());
+    assertEquals(1, pipeline.apply(0));
+  }
+
+  @Test
+  void testAsyncStagesDoNotBlockTheCaller() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> order = new ArrayList<>();
+    try {
+      final Que.Async<String> async =
+          Que.of("value")
+              .andRunAsync(
+                  () -> {
+                    try {
+                      release.await();
+                    } catch (final InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                    order.add("run");
+                  },
+                  executor)
+              .andAcceptAsync(order::add, executor)
+              .andSupplyAsync(() -> "supplied", executor);
+
+      assertFalse(async.completableFuture().isDone());
+      release.countDown();
+
+      assertEquals("supplied", async.completableFuture().get(5, TimeUnit.SECONDS));
+      assertEquals("run", order.get(0));
+      assertEquals("value", order.get(1));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testAsyncStageFailureIsThrown() {
+    final Que.Async<Integer> async =
+        Que.of(1)
+            .andAcceptAsync(
+                value -> {
+                  throw new IllegalStateException("async");
+                })
+            .andSupplyAsync(() -> 2);
+
+    assertThrows(IllegalStateException.class, async::get);
+  }
+
+  @Test
+  void testStreamRunsStagesInMicroBatches() throws Exception {
+    final List<Integer> batchSizes = new ArrayList<>();
+    final List<Integer> written = new ArrayList<>();
+    final AtomicInteger seen = new AtomicInteger();
+
+    final long count =
+        Que.stream(IntStream.range(0, 25).boxed().collect(Collectors.toList()))
+            .batchSize(10)
+            .andConsume(value -> seen.incrementAndGet())
+            .andApply(value -> value * 2)
+            .andConsumeBatch(batch -> batchSizes.add(batch.size()))
+            .andAcceptBatch(written::addAll)
+            .execute();
+
+    assertEquals(25, count);
+    assertEquals(25, seen.get());
+    assertEquals(Arrays.asList(10, 10, 5), batchSizes);
+    assertEquals(48, written.get(24));
+  }
+
+  @Test
+  void testStreamFlushesOnTimeAndClosesSource() throws Exception {
+    final AtomicInteger closed = new AtomicInteger();
+    final List<Integer> batchSizes = new ArrayList<>();
+
+    Que.stream(
+            IntStream.range(0, 4)
+                .boxed()
+                .peek(
+                    i -> {
+                      try {
+                        TimeUnit.MILLISECONDS.sleep(15);
+                      } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    })
+                .onClose(closed::incrementAndGet))
+        .batchSize(100)
+        .flushEvery(Duration.ofMillis(10))
+        .andAcceptBatch(batch -> batchSizes.add(batch.size()))
+        .execute();
+
+    assertEquals(Arrays.asList(2, 2), batchSizes);
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  void testStreamRejectsInvalidBatchSettings() {
+    final Que.Batched<Integer> batched = Que.stream(Arrays.asList(1, 2, 3));
+
+    assertThrows(IllegalArgumentException.class, () -> batched.batchSize(0));
+    assertThrows(IllegalArgumentException.class, () -> batched.flushEvery(Duration.ofMillis(-1)));
+  }
+
+  @Test
+  void testInstrumentedQueRecordsEveryStage() throws Exception {
+    final QueTimings timings = QueTimings.create();
+
+    for (int i = 0; i < 3; i++) {
+      final Que<String> que =
+          Que.of("order")
+              .instrument(timings)
+              .named("validate")
+              .andAccept(value -> TimeUnit.MILLISECONDS.sleep(2))
+              .andSupply(() -> "saved")
+              .named("save")
+              .andConsume(value -> new StringBuilder(value).reverse())
+              .andCall(() -> "done");
+      assertEquals("done", que.get());
+    }
+
+    final Map<String, QueTimings.Stage> stages = timings.snapshot();
+    assertEquals(
+        Arrays.asList("andCall", "andSupply", "save", "validate"), new ArrayList<>(stages.keySet()));
+    assertEquals(3, stages.get("validate").getWallTime().getCount());
+    final long validate = stages.get("validate").getWallTime().getPercentile(50.0);
+    assertTrue(validate >= TimeUnit.MILLISECONDS.toNanos(2));
+    if (QueTimings.isAllocationMeasured()) {
+      assertEquals(3, stages.get("save").getAllocation().getCount());
+      assertTrue(stages.get("save").getAllocation().getMax() > 0);
+    } else {
+      assertEquals(0, stages.get("save").getAllocation().getCount());
+    }
+
+    timings.reset();
+    assertTrue(timings.snapshot().isEmpty());
+  }
+
+  @Test
+  void testInstrumentedQueRecordsAsyncStages() throws Exception {
+    final QueTimings timings = QueTimings.create();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Que<String> instrumented = Que.of("order").instrument(timings);
+      assertSame(instrumented, instrumented.andRun(() -> {}));
+
+      final String value =
+          instrumented
+              .named("validate")
+              .andAcceptAsync(order -> TimeUnit.MILLISECONDS.sleep(2), executor)
+              .andRunAsync(() -> {}, executor)
+              .andSupplyAsync(() -> "saved", executor)
+              .get();
+      assertEquals("saved", value);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    final Map<String, QueTimings.Stage> stages = timings.snapshot();
+    assertEquals(
+        Arrays.asList("andRun", "andRunAsync", "andSupplyAsync", "validate"),
+        new ArrayList<>(stages.keySet()));
+    assertEquals(1, stages.get("validate").getWallTime().getCount());
+    final long validate = stages.get("validate").getWallTime().getPercentile(50.0);
+    assertTrue(validate >= TimeUnit.MILLISECONDS.toNanos(2));
+  }
+
+  @Test
+  void testUninstrumentedQueIgnoresStageNames() {
+    final Que<String> que = Que.of("value");
+
+    assertSame(que, que.named("stage"));
+    assertSame(que, que.andConsume(value -> {}));
+    assertThrows(NullPointerException.class, () -> que.instrument(null));
+  }
 }
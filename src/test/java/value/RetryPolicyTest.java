@@ -0,0 +1,146 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.RetryPolicy;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RetryPolicyTest {
+
+  @Test
+  void testRetryUntilSuccess() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final Try<String> result =
+        Try.retry(
+            () -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw new IOException("flaky");
+              }
+              return "done";
+            },
+            RetryPolicy.of(5).backoff(Duration.ofMillis(1), 2.0));
+
+    assertTrue(result.isSuccess());
+    assertEquals("done", result.get());
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  void testRetryGivesUpAfterMaxAttempts() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final Try<String> result =
+        Try.retry(
+            () -> {
+              throw new IOException("attempt " + attempts.incrementAndGet());
+            },
+            RetryPolicy.of(4).backoff(Duration.ofMillis(1), 1.0).jitter(0.0));
+
+    assertTrue(result.isFailure());
+    assertEquals("attempt 4", result.getCause().getMessage());
+    assertEquals(4, attempts.get());
+  }
+
+  @Test
+  void testNonRetryableFailureIsReturnedImmediately() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final Try<Integer> result =
+        Try.retry(
+            () -> {
+              attempts.incrementAndGet();
+              return Integer.parseInt("x");
+            },
+            RetryPolicy.of(5)
+                .backoff(Duration.ofMillis(1), 2.0)
+                .retryOn(cause -> cause instanceof IOException));
+
+    assertTrue(result.getCause() instanceof NumberFormatException);
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void testDeadlineStopsFurtherAttempts() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final long start = System.nanoTime();
+    final Try<String> result =
+        Try.retry(
+            () -> {
+              attempts.incrementAndGet();
+              throw new IOException("down");
+            },
+            RetryPolicy.of(100)
+                .backoff(Duration.ofMillis(20), 2.0)
+                .jitter(0.0)
+                .deadline(Duration.ofMillis(100)));
+
+    assertTrue(result.isFailure());
+    assertTrue(attempts.get() < 5);
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+  }
+
+  @Test
+  void testRetryAsyncSchedulesAttempts() throws Exception {
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final AtomicInteger attempts = new AtomicInteger();
+      final Try<Integer> result =
+          Try.retryAsync(
+                  () -> {
+                    if (attempts.incrementAndGet() < 3) {
+                      throw new IOException("flaky");
+                    }
+                    return attempts.get();
+                  },
+                  RetryPolicy.of(3).backoff(Duration.ofMillis(5), 2.0),
+                  scheduler)
+              .get(5, TimeUnit.SECONDS);
+
+      assertTrue(result.isSuccess());
+      assertEquals(3, result.get());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  void testInvalidPolicies() {
+    assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(0));
+    assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(1).jitter(2.0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> RetryPolicy.of(1).backoff(Duration.ofMillis(1), 0.5));
+    assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(1).deadline(Duration.ZERO));
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Syndicate;
+import art.cutils.value.SyndicateMetrics;
+import art.cutils.value.Try;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SyndicateMetricsTest {
+
+  @Test
+  void testRecordsOutcomesAndTimes() {
+    final SyndicateMetrics metrics = SyndicateMetrics.create();
+    try (final Syndicate<String> syndicate = Syndicate.<String>init().metrics(metrics)) {
+      final List<Try<String>> results =
+          syndicate
+              .add(
+                  () -> {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                    return "slow";
+                  })
+              .add(
+                  () -> {
+                    throw new IllegalStateException("failed");
+                  })
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "timed out";
+                  },
+                  10,
+                  TimeUnit.MILLISECONDS)
+              .add("key", () -> "keyed")
+              .apply()
+              .gather();
+      assertEquals(4, results.size());
+      assertEquals("keyed", results.get(3).get());
+    }
+
+    assertEquals(4, metrics.getSubmitted());
+    assertEquals(2, metrics.getSucceeded());
+    assertEquals(1, metrics.getFailed());
+    assertEquals(1, metrics.getTimedOut());
+    assertEquals(0, metrics.getRunning());
+    assertEquals(4, metrics.getQueueWait().getCount());
+    assertEquals(4, metrics.getExecutionTime().getCount());
+    assertTrue(metrics.getExecutionTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+
+    metrics.reset();
+    assertEquals(0, metrics.getSubmitted());
+    assertEquals(0, metrics.getExecutionTime().getCount());
+  }
+
+  @Test
+  void testTasksCutOffByTheTimeoutCountAsTimedOut() throws InterruptedException {
+    final SyndicateMetrics metrics = SyndicateMetrics.create();
+    try (final Syndicate<String> syndicate = Syndicate.<String>init().metrics(metrics)) {
+      syndicate
+          .add(() -> "fast")
+          .add(
+              () -> {
+                TimeUnit.SECONDS.sleep(10);
+                return "cut off";
+              });
+      final List<Try<String>> results = syndicate.apply(50, TimeUnit.MILLISECONDS).gather();
+      assertTrue(results.get(1).getCause() instanceof TimeoutException);
+      syndicate.apply(50, TimeUnit.MILLISECONDS).execute();
+    }
+    while (metrics.getRunning() > 0) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+
+    assertEquals(4, metrics.getSubmitted());
+    assertEquals(2, metrics.getSucceeded());
+    assertEquals(0, metrics.getFailed());
+    assertEquals(2, metrics.getTimedOut());
+  }
+
+  @Test
+  void testPeakRunningIsBoundedByMaxInFlight() {
+    final SyndicateMetrics metrics = SyndicateMetrics.create();
+    try (final Syndicate<Integer> syndicate = Syndicate.init()) {
+      syndicate
+          .metrics(metrics)
+          .maxInFlight(2)
+          .addAll(
+              IntStream.range(0, 20)
+                  .mapToObj(
+                      i ->
+                          () -> {
+                            TimeUnit.MILLISECONDS.sleep(2);
+                            return i;
+                          }))
+          .apply()
+          .execute();
+    }
+
+    assertEquals(20, metrics.getSucceeded());
+    assertTrue(metrics.getPeakRunning() <= 2);
+    assertTrue(metrics.getPeakRunning() >= 1);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Syndicate;
+import art.cutils.value.Try;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the overhead of a {@link Syndicate} per request: creating it, fanning out a few trivial
+ * tasks, gathering their results and closing it, with {@link Syndicate#init()} against {@link
+ * Syndicate#shared()}. Not a unit test: run its main method on the test classpath, optionally
+ * passing the number of requests and the number of tasks per request.
+ *
+ * @author <a href="https://github.com/B0BAI">Bobai Kato</a>
+ * @since 2.5
+ */
+public final class SyndicateOverheadBenchmark {
+
+  /** Locked for life. */
+  private SyndicateOverheadBenchmark() {}
+
+  public static void main(final String[] args) {
+    final int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+    final int tasks = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+    for (int round = 1; round <= 3; round++) {
+      System.out.printf("round %d, %d requests of %d tasks%n", round, requests, tasks);
+      SyndicateOverheadBenchmark.report("init()", requests, tasks, Syndicate::init);
+      SyndicateOverheadBenchmark.report("shared()", requests, tasks, Syndicate::shared);
+    }
+  }
+
+  private static void report(
+      final String name,
+      final int requests,
+      final int tasks,
+      final Supplier<Syndicate<Integer>> factory) {
+    final long start = System.nanoTime();
+    long checksum = 0L;
+    for (int request = 0; request < requests; request++) {
+      checksum += SyndicateOverheadBenchmark.request(factory, tasks);
+    }
+    final long elapsed = System.nanoTime() - start;
+    System.out.printf(
+        "  %-9s %8.2f us/request, %6d ms total (checksum %d)%n",
+        name,
+        elapsed / 1_000.0 / requests,
+        TimeUnit.NANOSECONDS.toMillis(elapsed),
+        checksum);
+  }
+
+  private static long request(final Supplier<Syndicate<Integer>> factory, final int tasks) {
+    try (final Syndicate<Integer> syndicate = factory.get()) {
+      for (int task = 0; task < tasks; task++) {
+        final int value = task;
+        syndicate.add(() -> value);
+      }
+      final List<Try<Integer>> results = syndicate.apply().gather();
+      long sum = 0L;
+      for (final Try<Integer> result : results) {
+        sum += result.get();
+      }
+      return sum;
+    }
+  }
+}
@@ -31,15 +31,31 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /** Created by B0BAI on 13 Nov, 2021 */
 final class SyndicateTest {
@@ -249,4 +265,696 @@ final class SyndicateTest {
     Assertions.assertNotEquals(close, s2.apply().onComplete(futures -> {}));
     Assertions.assertEquals(close, s1.apply().onComplete(futures -> {}));
   }
+
+  @Test
+  void testOnEachDeliversResultsInCompletionOrder() {
+    final List<Object> seen = new ArrayList<>();
+    try (final Syndicate<Object> syndicate = Syndicate.init()) {
+      syndicate
+          .add(
+              () -> {
+                TimeUnit.MILLISECONDS.sleep(300);
+                return "slow";
+              })
+          .add(
+              () -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                throw new IllegalStateException("failed");
+              })
+          .add(() -> "fast")
+          .apply()
+          .onEach(
+              result ->
+                  seen.add(result.isSuccess() ? result.get() : result.getCause().getMessage()));
+    }
+
+    Assertions.assertEquals(Arrays.asList("fast", "failed", "slow"), seen);
+  }
+
+  @Test
+  void testStreamCancelsTasksPastTheTimeout() {
+    try (final Syndicate<String> syndicate = Syndicate.init();
+        final Stream<Try<String>> results =
+            syndicate
+                .add(() -> "fast")
+                .add(
+                    () -> {
+                      TimeUnit.SECONDS.sleep(10);
+                      return "slow";
+                    })
+                .apply(200L, TimeUnit.MILLISECONDS)
+                .stream()) {
+      final List<Try<String>> all = results.collect(Collectors.toList());
+
+      Assertions.assertEquals(2, all.size());
+      Assertions.assertEquals("fast", all.get(0).get());
+      Assertions.assertTrue(all.get(1).getCause() instanceof CancellationException);
+    }
+  }
+
+  @Test
+  void testMaxInFlightBoundsLazySource() {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    final AtomicInteger pulled = new AtomicInteger();
+    final AtomicInteger closed = new AtomicInteger();
+    final AtomicInteger sum = new AtomicInteger();
+
+    try (final Syndicate<Integer> syndicate = Syndicate.init()) {
+      syndicate
+          .maxInFlight(4)
+          .addAll(
+              IntStream.rangeClosed(1, 200)
+                  .peek(i -> pulled.incrementAndGet())
+                  .<Callable<Integer>>mapToObj(
+                      i ->
+                          () -> {
+                            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            TimeUnit.MILLISECONDS.sleep(1);
+                            running.decrementAndGet();
+                            return i;
+                          })
+                  .onClose(closed::incrementAndGet))
+          .apply()
+          .onEach(
+              result -> {
+                Assertions.assertTrue(pulled.get() - sum.get() <= 4 + 1);
+                sum.incrementAndGet();
+              });
+    }
+
+    Assertions.assertEquals(200, sum.get());
+    Assertions.assertTrue(peak.get() <= 4, "peak " + peak.get());
+    Assertions.assertEquals(1, closed.get());
+  }
+
+  @Test
+  void testExecuteHonoursMaxInFlight() throws Exception {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+
+    try (final Syndicate<Integer> syndicate = Syndicate.init()) {
+      IntStream.range(0, 20)
+          .forEach(
+              i ->
+                  syndicate.add(
+                      () -> {
+                        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        TimeUnit.MILLISECONDS.sleep(5);
+                        running.decrementAndGet();
+                        return i;
+                      }));
+      final List<Future<Integer>> futures = syndicate.maxInFlight(3).apply().execute().get().get();
+
+      Assertions.assertEquals(20, futures.size());
+      Assertions.assertEquals(19, futures.get(19).get());
+    }
+    Assertions.assertTrue(peak.get() <= 3, "peak " + peak.get());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> Syndicate.init().maxInFlight(0));
+  }
+
+  @Test
+  void testFailFastCancelsSiblings() throws Exception {
+    final AtomicInteger interrupted = new AtomicInteger();
+    final long start = System.nanoTime();
+
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final List<Future<String>> futures =
+          syndicate
+              .add(
+                  () -> {
+                    try {
+                      TimeUnit.SECONDS.sleep(10);
+                    } catch (final InterruptedException e) {
+                      interrupted.incrementAndGet();
+                      throw e;
+                    }
+                    return "slow";
+                  })
+              .add(
+                  () -> {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                    throw new IllegalStateException("failed");
+                  })
+              .apply()
+              .failFast()
+              .execute()
+              .get()
+              .get();
+
+      Assertions.assertTrue(futures.get(0).isCancelled());
+      final ExecutionException failure =
+          Assertions.assertThrows(ExecutionException.class, () -> futures.get(1).get());
+      Assertions.assertEquals("failed", failure.getCause().getMessage());
+    }
+
+    Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    Pause.until(100).milliSeconds().empty();
+    Assertions.assertEquals(1, interrupted.get());
+  }
+
+  @Test
+  void testFailFastStreamReportsFailureFirst() {
+    try (final Syndicate<String> syndicate = Syndicate.init();
+        final Stream<Try<String>> results =
+            syndicate
+                .add(
+                    () -> {
+                      TimeUnit.SECONDS.sleep(10);
+                      return "slow";
+                    })
+                .add(
+                    () -> {
+                      throw new IllegalStateException("failed");
+                    })
+                .apply()
+                .failFast()
+                .stream()) {
+      final List<Try<String>> all = results.collect(Collectors.toList());
+
+      Assertions.assertEquals("failed", all.get(0).getCause().getMessage());
+      Assertions.assertTrue(all.get(1).getCause() instanceof CancellationException);
+    }
+  }
+
+  @Test
+  void testFirstSuccess() {
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final Try<String> first =
+          syndicate
+              .add(
+                  () -> {
+                    throw new IllegalStateException("failed");
+                  })
+              .add(
+                  () -> {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                    return "second";
+                  })
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "slow";
+                  })
+              .apply()
+              .firstSuccess();
+
+      Assertions.assertEquals("second", first.get());
+    }
+
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final Try<String> none =
+          syndicate
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "slow";
+                  })
+              .apply(100L, TimeUnit.MILLISECONDS)
+              .firstSuccess();
+
+      Assertions.assertTrue(none.getCause() instanceof TimeoutException);
+    }
+
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      Assertions.assertTrue(syndicate.apply().firstSuccess().isFailure());
+    }
+  }
+
+  private static long sum(final Syndicate.Fork fork, final int from, final int to)
+      throws Exception {
+    if (to - from <= 1_000) {
+      return LongStream.range(from, to).sum();
+    }
+    final int middle = (from + to) >>> 1;
+    final Syndicate.Forked<Long> left = fork.fork(f -> sum(f, from, middle));
+    final Syndicate.Forked<Long> right = fork.fork(f -> sum(f, middle, to));
+    return left.join() + right.join();
+  }
+
+  @Test
+  void testForkJoinSplitsRecursiveTasks() throws Exception {
+    final Set<String> workers = ConcurrentHashMap.newKeySet();
+
+    try (final Syndicate<Long> syndicate = Syndicate.forkJoin(4)) {
+      final List<Future<Long>> futures =
+          syndicate
+              .addRecursive(fork -> sum(fork, 0, 1_000_000))
+              .addRecursive(
+                  fork -> {
+                    final Syndicate.Forked<Long> child =
+                        fork.fork(
+                            f -> {
+                              workers.add(Thread.currentThread().getName());
+                              return 1L;
+                            });
+                    return child.join() + 1L;
+                  })
+              .apply()
+              .execute()
+              .get()
+              .get();
+
+      Assertions.assertEquals(499_999_500_000L, futures.get(0).get());
+      Assertions.assertEquals(2L, futures.get(1).get());
+      Assertions.assertTrue(workers.iterator().next().startsWith("ForkJoinPool-"));
+    }
+  }
+
+  @Test
+  void testForkedFailureAndPlainExecutor() throws Exception {
+    try (final Syndicate<Long> syndicate = Syndicate.forkJoin()) {
+      final Try<Long> failed =
+          syndicate
+              .addRecursive(
+                  fork ->
+                      fork.<Long>fork(
+                              f -> {
+                                throw new IllegalStateException("failed");
+                              })
+                          .join())
+              .apply()
+              .firstSuccess();
+
+      Assertions.assertTrue(failed.getCause() instanceof IllegalStateException);
+    }
+
+    try (final Syndicate<Long> syndicate = Syndicate.init(Executors.newFixedThreadPool(1))) {
+      final Try<Long> sum = syndicate.addRecursive(fork -> sum(fork, 0, 1_000_000)).apply().firstSuccess();
+      Assertions.assertEquals(499_999_500_000L, sum.get());
+    }
+  }
+
+  @Test
+  void testPerTaskTimeout() throws Exception {
+    try (final Syndicate<String> syndicate = Syndicate.init(Executors.newFixedThreadPool(1))) {
+      final List<Future<String>> futures =
+          syndicate
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "slow";
+                  },
+                  100L,
+                  TimeUnit.MILLISECONDS)
+              .add(() -> Thread.currentThread().isInterrupted() ? "interrupted" : "fast")
+              .add(() -> "in time", 1L, TimeUnit.SECONDS)
+              .apply()
+              .execute()
+              .get()
+              .get();
+
+      final ExecutionException timedOut =
+          Assertions.assertThrows(ExecutionException.class, () -> futures.get(0).get());
+      Assertions.assertTrue(timedOut.getCause() instanceof TimeoutException);
+      Assertions.assertEquals("fast", futures.get(1).get());
+      Assertions.assertEquals("in time", futures.get(2).get());
+    }
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> Syndicate.<String>init().add(() -> "", 0L, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testGatherReturnsPartialResultsInTaskOrder() {
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final List<Try<String>> results =
+          syndicate
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "slow";
+                  })
+              .add(
+                  () -> {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                    return "second";
+                  })
+              .add(
+                  () -> {
+                    throw new IllegalStateException("failed");
+                  })
+              .addAll(Arrays.<Callable<String>>asList(() -> "lazy").iterator())
+              .apply(300L, TimeUnit.MILLISECONDS)
+              .gather();
+
+      Assertions.assertEquals(4, results.size());
+      Assertions.assertTrue(results.get(0).getCause() instanceof TimeoutException);
+      Assertions.assertEquals("second", results.get(1).get());
+      Assertions.assertTrue(results.get(2).getCause() instanceof IllegalStateException);
+      Assertions.assertEquals("lazy", results.get(3).get());
+    }
+
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final List<Try<String>> results =
+          syndicate
+              .maxInFlight(1)
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "slow";
+                  })
+              .add(() -> "never started")
+              .apply(100L, TimeUnit.MILLISECONDS)
+              .gather();
+
+      Assertions.assertEquals(2, results.size());
+      Assertions.assertTrue(results.get(1).getCause() instanceof TimeoutException);
+    }
+  }
+
+  @Test
+  void testKeyedTasksRunInOrderPerKey() {
+    final int accounts = 8;
+    final int events = 2_000;
+    final List<List<Integer>> applied = new ArrayList<>();
+    final AtomicInteger[] running = new AtomicInteger[accounts];
+    final AtomicInteger overlaps = new AtomicInteger();
+    for (int account = 0; account < accounts; account++) {
+      applied.add(new ArrayList<>());
+      running[account] = new AtomicInteger();
+    }
+
+    try (final Syndicate<Integer> syndicate = Syndicate.init(Executors.newFixedThreadPool(4))) {
+      syndicate
+          .addAll(
+              IntStream.range(0, events)
+                  .mapToObj(
+                      event ->
+                          syndicate.keyed(
+                              "account-" + event % accounts,
+                              () -> {
+                                final int account = event % accounts;
+                                if (running[account].incrementAndGet() > 1) {
+                                  overlaps.incrementAndGet();
+                                }
+                                applied.get(account).add(event);
+                                running[account].decrementAndGet();
+                                return event;
+                              })))
+          .add("account-0", () -> -1)
+          .apply()
+          .gather()
+          .forEach(result -> Assertions.assertTrue(result.isSuccess()));
+    }
+
+    Assertions.assertEquals(0, overlaps.get());
+    for (int account = 0; account < accounts; account++) {
+      final List<Integer> expected = new ArrayList<>();
+      for (int event = account; event < events; event += accounts) {
+        expected.add(event);
+      }
+      Assertions.assertEquals(expected, applied.get(account));
+    }
+  }
+
+  @Test
+  void testGraphRunsTasksAfterTheirDependencies() {
+    try (final Syndicate<Integer> syndicate = Syndicate.init()) {
+      final Syndicate.Graph<Integer> graph = syndicate.graph();
+      final Syndicate.Node<Integer> source = graph.node("source", () -> 1);
+      final Syndicate.Node<Integer> fast =
+          graph.node("fast", inputs -> inputs.get(0) + 1, source);
+      final Syndicate.Node<Integer> slow =
+          graph.node(
+              "slow",
+              inputs -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                return inputs.get(0) * 10;
+              },
+              source);
+      final Syndicate.Node<Integer> sink =
+          graph.node("sink", inputs -> inputs.get(0) + inputs.get(1), fast, slow);
+
+      final Syndicate.Report<Integer> report = graph.run();
+
+      Assertions.assertEquals(12, report.get(sink).get());
+      Assertions.assertTrue(report.getStartNanos(sink) >= report.getStartNanos(slow));
+      Assertions.assertEquals(
+          Arrays.asList("source", "slow", "sink"),
+          report.getCriticalPath().stream()
+              .map(Syndicate.Node::getName)
+              .collect(Collectors.toList()));
+      Assertions.assertTrue(
+          report.getCriticalPathNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+      Assertions.assertTrue(report.getCriticalPathNanos() <= report.getElapsedNanos());
+    }
+  }
+
+  @Test
+  void testGraphFailsDependentsOfAFailedTask() {
+    final AtomicInteger calls = new AtomicInteger();
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final Syndicate.Graph<String> graph = syndicate.graph();
+      final Syndicate.Node<String> broken =
+          graph.node(
+              "broken",
+              () -> {
+                throw new IllegalStateException("broken");
+              });
+      final Syndicate.Node<String> fine = graph.node("fine", () -> "fine");
+      final Syndicate.Node<String> dependent =
+          graph.node(
+              "dependent",
+              inputs -> {
+                calls.incrementAndGet();
+                return inputs.toString();
+              },
+              fine,
+              broken);
+
+      final Syndicate.Report<String> report = graph.run();
+
+      Assertions.assertEquals("fine", report.get(fine).get());
+      Assertions.assertTrue(report.get(broken).getCause() instanceof IllegalStateException);
+      Assertions.assertTrue(report.get(dependent).getCause() instanceof ExecutionException);
+      Assertions.assertTrue(
+          report.get(dependent).getCause().getCause() instanceof IllegalStateException);
+      Assertions.assertEquals(-1L, report.getStartNanos(dependent));
+      Assertions.assertEquals(0, calls.get());
+
+      final Syndicate.Graph<String> other = syndicate.graph();
+      Assertions.assertThrows(
+          IllegalArgumentException.class, () -> other.node("orphan", inputs -> "", fine));
+    }
+  }
+
+  @Test
+  void testGraphRunsTheCriticalPathFirst() {
+    final List<String> order = new CopyOnWriteArrayList<>();
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      syndicate.maxInFlight(1);
+      final Syndicate.Graph<String> graph = syndicate.graph();
+      for (int i = 0; i < 3; i++) {
+        final String name = "short-" + i;
+        graph.node(
+            name,
+            () -> {
+              order.add(name);
+              return name;
+            });
+      }
+      final Syndicate.Node<String> head =
+          graph
+              .node(
+                  "head",
+                  () -> {
+                    order.add("head");
+                    return "head";
+                  })
+              .cost(Duration.ofMillis(10));
+      graph
+          .node(
+              "tail",
+              inputs -> {
+                order.add("tail");
+                return "tail";
+              },
+              head)
+          .cost(Duration.ofMillis(10));
+
+      graph.run();
+    }
+    Assertions.assertEquals(Arrays.asList("head", "tail"), order.subList(0, 2));
+    Assertions.assertEquals(5, order.size());
+  }
+
+  @Test
+  void testTimedTaskKeepsTheInterruptOfACancellation() throws InterruptedException {
+    final CountDownLatch ran = new CountDownLatch(2);
+    final List<Boolean> interrupted = new CopyOnWriteArrayList<>();
+    final ExecutorService executor =
+        new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+          @Override
+          protected void afterExecute(final Runnable runnable, final Throwable thrown) {
+            interrupted.add(Thread.currentThread().isInterrupted());
+            ran.countDown();
+          }
+        };
+    try (final Syndicate<String> syndicate = Syndicate.init(executor)) {
+      final List<Try<String>> results =
+          syndicate
+              .add(
+                  () -> {
+                    // ignores the interrupts of the alarm, then of the cancellation
+                    final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+                    while (System.nanoTime() < end) {
+                      Thread.yield();
+                    }
+                    return "late";
+                  },
+                  10,
+                  TimeUnit.MILLISECONDS)
+              .add(
+                  () -> {
+                    TimeUnit.MILLISECONDS.sleep(30);
+                    throw new IllegalStateException("failed");
+                  })
+              .apply()
+              .failFast()
+              .gather();
+      Assertions.assertTrue(results.get(1).getCause() instanceof IllegalStateException);
+      Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    Assertions.assertTrue(interrupted.contains(true), interrupted::toString);
+  }
+
+  @Test
+  void testRejectedKeyedTasksFailWithTheRejection() {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+    try (final Syndicate<String> syndicate = Syndicate.init(executor)) {
+      final List<Try<String>> results =
+          syndicate
+              .add("key", () -> "first")
+              .add("key", () -> "second")
+              .add(() -> "unkeyed")
+              .apply()
+              .gather();
+
+      Assertions.assertEquals(3, results.size());
+      results.forEach(
+          result ->
+              Assertions.assertTrue(result.getCause() instanceof RejectedExecutionException));
+    }
+  }
+
+  @Test
+  void testSharedSyndicatesShareOnePool() {
+    final Syndicate<String> first = Syndicate.shared();
+    final Syndicate<String> second = Syndicate.shared();
+    try {
+      final Try<String> thread =
+          first.add(() -> Thread.currentThread().getName()).apply().gather().get(0);
+      Assertions.assertTrue(thread.get().startsWith("cutils-shared-"));
+
+      first.close();
+      final List<Try<String>> rejected = first.add(() -> "closed").apply().gather();
+      Assertions.assertTrue(rejected.get(1).getCause() instanceof RejectedExecutionException);
+
+      Assertions.assertTrue(
+          second
+              .add(() -> Thread.currentThread().getName())
+              .apply()
+              .gather()
+              .get(0)
+              .get()
+              .startsWith("cutils-shared-"));
+    } finally {
+      first.close();
+      second.close();
+    }
+  }
+
+  @Test
+  void testTimedKeyedTasksKeepTheirKey() {
+    final List<String> order = new CopyOnWriteArrayList<>();
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final List<Try<String>> results =
+          syndicate
+              .add(
+                  syndicate.keyed(
+                      "account",
+                      () -> {
+                        TimeUnit.MILLISECONDS.sleep(50);
+                        order.add("first");
+                        return "first";
+                      }),
+                  5,
+                  TimeUnit.SECONDS)
+              .add(
+                  syndicate.keyed(
+                      "account",
+                      () -> {
+                        TimeUnit.SECONDS.sleep(10);
+                        order.add("late");
+                        return "late";
+                      }),
+                  20,
+                  TimeUnit.MILLISECONDS)
+              .add(
+                  "account",
+                  () -> {
+                    order.add("last");
+                    return "last";
+                  })
+              .apply()
+              .gather();
+
+      Assertions.assertEquals("first", results.get(0).get());
+      Assertions.assertTrue(results.get(1).getCause() instanceof TimeoutException);
+      Assertions.assertEquals("last", results.get(2).get());
+    }
+    Assertions.assertEquals(Arrays.asList("first", "last"), order);
+  }
+
+  @Test
+  void testGatherMarksTasksNotStartedAfterAFailure() {
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final List<Try<String>> results =
+          syndicate
+              .maxInFlight(1)
+              .add(
+                  () -> {
+                    throw new IllegalStateException("failed");
+                  })
+              .add(
+                  () -> {
+                    TimeUnit.SECONDS.sleep(10);
+                    return "cancelled";
+                  })
+              .add(() -> "never started")
+              .apply(10L, TimeUnit.SECONDS)
+              .failFast()
+              .gather();
+
+      Assertions.assertEquals(3, results.size());
+      Assertions.assertTrue(results.get(0).getCause() instanceof IllegalStateException);
+      Assertions.assertTrue(results.get(1).getCause() instanceof CancellationException);
+      Assertions.assertTrue(results.get(2).getCause() instanceof CancellationException);
+    }
+  }
+
+  @Test
+  void testGatherReturnsOnAnEndlessSourceAtTheTimeout() {
+    try (final Syndicate<String> syndicate = Syndicate.init()) {
+      final List<Try<String>> results =
+          syndicate
+              .maxInFlight(2)
+              .addAll(
+                  Stream.<Callable<String>>generate(
+                      () ->
+                          () -> {
+                            TimeUnit.SECONDS.sleep(10);
+                            return "slow";
+                          }))
+              .apply(100L, TimeUnit.MILLISECONDS)
+              .gather();
+
+      Assertions.assertEquals(2, results.size());
+      results.forEach(
+          result -> Assertions.assertTrue(result.getCause() instanceof TimeoutException));
+    }
+  }
 }
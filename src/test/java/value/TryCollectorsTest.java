@@ -0,0 +1,102 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Pair;
+import art.cutils.value.Try;
+import art.cutils.value.TryCollectors;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TryCollectorsTest {
+
+  @Test
+  void testPartitioningInParallel() {
+    final Pair<List<Integer>, List<Throwable>> partition =
+        IntStream.range(0, 10_000)
+            .parallel()
+            .mapToObj(i -> Try.of(() -> Integer.parseInt(i % 10 == 0 ? "x" + i : "" + i)))
+            .collect(TryCollectors.partitioning());
+
+    assertEquals(9_000, partition.getFirst().size());
+    assertEquals(1_000, partition.getSecond().size());
+    assertEquals(
+        IntStream.range(0, 10_000).filter(i -> i % 10 != 0).boxed().collect(Collectors.toList()),
+        partition.getFirst());
+    assertTrue(partition.getSecond().get(0) instanceof NumberFormatException);
+  }
+
+  @Test
+  void testToListSucceedsOrKeepsFirstFailure() {
+    final Try<List<Integer>> all =
+        IntStream.range(0, 1_000)
+            .parallel()
+            .mapToObj(i -> Try.of(() -> i))
+            .collect(TryCollectors.toList());
+
+    assertTrue(all.isSuccess());
+    assertEquals(1_000, all.get().size());
+    assertEquals(999, all.get().get(999));
+
+    final Try<List<Integer>> failed =
+        Stream.of("1", "a", "b", "4")
+            .parallel()
+            .map(s -> Try.of(() -> Integer.parseInt(s)))
+            .collect(TryCollectors.toList());
+
+    assertTrue(failed.isFailure());
+    assertEquals("For input string: \"a\"", failed.getCause().getMessage());
+  }
+
+  @Test
+  void testSequenceStopsPullingAtFirstFailure() {
+    final AtomicInteger evaluated = new AtomicInteger();
+    final Try<List<Integer>> failed =
+        TryCollectors.sequence(
+            Stream.of("1", "a", "3", "4")
+                .map(
+                    s ->
+                        Try.of(
+                            () -> {
+                              evaluated.incrementAndGet();
+                              return Integer.parseInt(s);
+                            })));
+
+    assertTrue(failed.isFailure());
+    assertEquals(2, evaluated.get());
+
+    final Try<List<Integer>> all =
+        TryCollectors.sequence(Stream.of(1, 2, 3).map(i -> Try.of(() -> i)));
+    assertEquals(Arrays.asList(1, 2, 3), all.get());
+  }
+}
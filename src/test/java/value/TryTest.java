@@ -27,6 +27,15 @@ import art.cutils.value.Try;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static java.lang.Thread.sleep;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -238,4 +247,150 @@ final class TryTest {
               // Execute some code on failure
             });
   }
+
+  @Test
+  void testLazyTryIsEvaluatedOnceOnFirstUse() {
+    final AtomicInteger evaluations = new AtomicInteger();
+    final Try<Integer> lazy =
+        Try.lazy(
+            () -> {
+              evaluations.incrementAndGet();
+              return Integer.parseInt("25");
+            });
+    final Try<Integer> squareRoot = lazy.map(result -> (int) Math.sqrt(result));
+
+    assertEquals(0, evaluations.get());
+
+    assertTrue(squareRoot.isSuccess());
+    assertEquals(5, squareRoot.get());
+    assertEquals(25, lazy.get());
+    assertEquals(Try.of(() -> 25), lazy);
+    assertEquals(1, evaluations.get());
+  }
+
+  @Test
+  void testLazyTryFailureAndUnusedStages() {
+    final AtomicInteger mapped = new AtomicInteger();
+    final Try<Integer> lazy = Try.lazy(() -> Integer.parseInt("2F"));
+    final Try<Integer> unused = lazy.map(mapped::addAndGet);
+
+    assertTrue(lazy.isFailure());
+    assertFalse(lazy.isResult());
+    assertTrue(lazy.getCause() instanceof NumberFormatException);
+    assertEquals(7, lazy.orElseGet(7));
+    assertEquals(0, mapped.get());
+    assertNotNull(unused);
+  }
+
+  @Test
+  void testFlatMap() {
+    final Try<Integer> parsed = Try.of(() -> "25").flatMap(s -> Try.of(() -> Integer.parseInt(s)));
+    assertEquals(25, parsed.get());
+
+    final Try<Integer> failed = Try.of(() -> "2F").flatMap(s -> Try.of(() -> Integer.parseInt(s)));
+    assertTrue(failed.getCause() instanceof NumberFormatException);
+
+    final Try<Integer> thrown =
+        Try.of(() -> "25")
+            .flatMap(
+                s -> {
+                  throw new IllegalStateException("Unreachable.");
+                });
+    assertTrue(thrown.getCause() instanceof IllegalStateException);
+  }
+
+  @Test
+  void testStagesPastTheDeadlineAreNotRun() {
+    final AtomicInteger stages = new AtomicInteger();
+    final Try<Integer> result =
+        Try.of(() -> 1)
+            .within(Duration.ofMillis(20))
+            .map(
+                value -> {
+                  stages.incrementAndGet();
+                  sleep(40);
+                  return value + 1;
+                })
+            .flatMap(value -> Try.of(() -> stages.incrementAndGet() + value))
+            .map(value -> stages.incrementAndGet() + value);
+
+    assertEquals(1, stages.get());
+    assertTrue(result.isFailure());
+    assertTrue(result.getCause() instanceof TimeoutException);
+
+    final Try<Integer> inTime =
+        Try.of(() -> 1).within(Duration.ofSeconds(10)).map(value -> value + 1);
+    assertEquals(2, inTime.get());
+  }
+
+  @Test
+  void testWithinCancelsSlowOperation() throws InterruptedException {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    try {
+      final Try<String> result =
+          Try.within(
+              Duration.ofMillis(20),
+              () -> {
+                try {
+                  TimeUnit.SECONDS.sleep(10);
+                } catch (final InterruptedException e) {
+                  interrupted.countDown();
+                  throw e;
+                }
+                return "late";
+              },
+              executor);
+
+      assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+      assertTrue(result.getCause() instanceof TimeoutException);
+      assertTrue(result.map(String::length).getCause() instanceof TimeoutException);
+
+      assertEquals(
+          "ok", Try.within(Duration.ofSeconds(5), () -> "ok", executor).orElseGet("late"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testWithinDoesNotBlockTheCaller() throws InterruptedException {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      final Try<Integer> result =
+          Try.within(
+                  Duration.ofSeconds(5),
+                  () -> {
+                    release.await();
+                    return 1;
+                  },
+                  executor)
+              .map(value -> value + 1);
+
+      release.countDown();
+      assertEquals(2, result.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testOfAsync() throws Exception {
+    assertEquals("async", Try.ofAsync(() -> "async").get(5, TimeUnit.SECONDS).get());
+
+    final Try<Object> failed =
+        Try.ofAsync(
+                () -> {
+                  throw new IllegalStateException("failed");
+                })
+            .get(5, TimeUnit.SECONDS);
+    assertTrue(failed.isFailure());
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+    assertTrue(
+        Try.ofAsync(() -> "rejected", executor).get().getCause()
+            instanceof RejectedExecutionException);
+  }
 }
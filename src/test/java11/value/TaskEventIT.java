@@ -0,0 +1,94 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.Syndicate;
+import art.cutils.value.SyndicateMetrics;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TaskEventIT {
+
+  private static final String EVENT = "art.cutils.SyndicateTask";
+
+  @Test
+  void testRecordsTasksToFlightRecorder() throws Exception {
+    final Path file = Files.createTempFile("syndicate", ".jfr");
+    try (final Recording recording = new Recording()) {
+      recording.enable(EVENT).withThreshold(Duration.ZERO);
+      recording.start();
+      try (final Syndicate<String> syndicate =
+          Syndicate.<String>init().metrics(SyndicateMetrics.create())) {
+        syndicate
+            .add(
+                () -> {
+                  TimeUnit.MILLISECONDS.sleep(20);
+                  return "slow";
+                })
+            .add(
+                () -> {
+                  throw new IllegalStateException("failed");
+                })
+            .add(
+                () -> {
+                  TimeUnit.SECONDS.sleep(10);
+                  return "timed out";
+                },
+                10,
+                TimeUnit.MILLISECONDS)
+            .apply()
+            .gather();
+      }
+      recording.stop();
+      recording.dump(file);
+
+      final Map<String, RecordedEvent> events =
+          RecordingFile.readAllEvents(file).stream()
+              .filter(event -> EVENT.equals(event.getEventType().getName()))
+              .collect(Collectors.toMap(event -> event.getString("outcome"), event -> event));
+
+      assertEquals(3, events.size());
+      final RecordedEvent slow = events.get("succeeded");
+      assertTrue(slow.getString("task").startsWith(TaskEventIT.class.getName()));
+      assertTrue(slow.getDuration().toMillis() >= 20);
+      assertTrue(slow.getDuration("queueWait").toNanos() >= 0);
+      assertTrue(events.containsKey("failed"));
+      assertTrue(events.get("timed out").getDuration().toMillis() >= 10);
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
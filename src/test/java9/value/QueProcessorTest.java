@@ -0,0 +1,238 @@
+/*
+ * _________  ____ ______________.___.____       _________
+ * \_   ___ \|    |   \__    ___/|   |    |     /   _____/
+ * /    \  \/|    |   / |    |   |   |    |     \_____  \
+ * \     \___|    |  /  |    |   |   |    |___  /        \
+ *  \______  /______/   |____|   |___|_______ \/_______  /
+ *         \/                                \/        \/
+ *
+ * Copyright (C) 2018 — 2022 Bobai Kato. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package value;
+
+import art.cutils.value.QueProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class QueProcessorTest {
+
+  @Test
+  void testProcessesItemsInOrderAndCompletes() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final QueProcessor<Integer> processor =
+          QueProcessor.of(item -> item % 3 == 0 ? null : item * 10, executor, 4);
+      final Sink<Integer> sink = new Sink<>(Long.MAX_VALUE);
+      processor.subscribe(sink);
+      final Source source = new Source(processor, 100);
+      processor.onSubscribe(source);
+
+      assertTrue(sink.done.await(5, TimeUnit.SECONDS));
+      assertNull(sink.error);
+      assertEquals(
+          IntStream.range(0, 100)
+              .filter(item -> item % 3 != 0)
+              .mapToObj(item -> item * 10)
+              .collect(Collectors.toList()),
+          sink.items);
+      assertTrue(processor.isClosed());
+      assertFalse(source.cancelled);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testStageFailureCancelsUpstreamAndFailsSubscribers() throws Exception {
+    final IllegalStateException failure = new IllegalStateException("failed");
+    final QueProcessor<Integer> processor =
+        QueProcessor.of(
+            item -> {
+              if (item == 3) {
+                throw failure;
+              }
+              return item;
+            });
+    final Sink<Integer> sink = new Sink<>(Long.MAX_VALUE);
+    processor.subscribe(sink);
+    final Source source = new Source(processor, 10);
+    processor.onSubscribe(source);
+
+    assertTrue(sink.done.await(5, TimeUnit.SECONDS));
+    assertSame(failure, sink.error);
+    assertEquals(Arrays.asList(0, 1, 2).subList(0, sink.items.size()), sink.items);
+    assertTrue(source.cancelled);
+    assertSame(failure, processor.getClosedException());
+  }
+
+  @Test
+  void testUpstreamFailureReachesSubscribers() throws Exception {
+    final QueProcessor<String> processor = QueProcessor.of(String::toUpperCase);
+    final Sink<String> sink = new Sink<>(Long.MAX_VALUE);
+    processor.subscribe(sink);
+    processor.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(final long n) {}
+
+          @Override
+          public void cancel() {}
+        });
+    processor.onNext("a");
+    processor.onNext("b");
+    final IllegalStateException failure = new IllegalStateException("upstream");
+    processor.onError(failure);
+
+    assertTrue(sink.done.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("A", "B").subList(0, sink.items.size()), sink.items);
+    assertSame(failure, sink.error);
+    assertSame(failure, processor.getClosedException());
+  }
+
+  @Test
+  void testSlowSubscriberHoldsTheDrainAndBoundsUpstreamDemand() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final int bufferSize = 2;
+      final AtomicReference<Thread> drain = new AtomicReference<>();
+      final QueProcessor<Integer> processor =
+          QueProcessor.of(
+              item -> {
+                drain.set(Thread.currentThread());
+                return item;
+              },
+              executor,
+              bufferSize);
+      final Sink<Integer> sink = new Sink<>(1);
+      processor.subscribe(sink);
+      final Source source = new Source(processor, 1_000);
+      processor.onSubscribe(source);
+
+      assertTrue(sink.first.await(5, TimeUnit.SECONDS));
+      TimeUnit.MILLISECONDS.sleep(100);
+      final long requested = source.requested();
+      assertTrue(requested <= 2 * bufferSize + 2, () -> "requested " + requested);
+      TimeUnit.MILLISECONDS.sleep(100);
+      assertEquals(requested, source.requested());
+      assertEquals(1, sink.items.size());
+
+      // the drain waits in submit for the subscriber, holding a thread of the executor
+      final Thread.State state = drain.get().getState();
+      assertTrue(
+          state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING, state::toString);
+
+      sink.request(Long.MAX_VALUE);
+      assertTrue(sink.done.await(5, TimeUnit.SECONDS));
+      assertEquals(1_000, sink.items.size());
+      assertEquals(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()), sink.items);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Emits the integers from 0 as they are requested, then completes. */
+  private static final class Source implements Flow.Subscription {
+    private final Flow.Subscriber<? super Integer> subscriber;
+    private final int count;
+    private long requested;
+    private int next;
+    private volatile boolean cancelled;
+
+    private Source(final Flow.Subscriber<? super Integer> subscriber, final int count) {
+      this.subscriber = subscriber;
+      this.count = count;
+    }
+
+    private synchronized long requested() {
+      return this.requested;
+    }
+
+    @Override
+    public synchronized void request(final long n) {
+      this.requested = this.requested + n < 0L ? Long.MAX_VALUE : this.requested + n;
+      while (!this.cancelled && this.next < this.count && this.next < this.requested) {
+        this.subscriber.onNext(this.next++);
+      }
+      if (!this.cancelled && this.next == this.count) {
+        this.next++;
+        this.subscriber.onComplete();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      this.cancelled = true;
+    }
+  }
+
+  /** Collects the items, requesting {@code initial} of them upfront. */
+  private static final class Sink<T> implements Flow.Subscriber<T> {
+    private final long initial;
+    private final List<T> items = new CopyOnWriteArrayList<>();
+    private final CountDownLatch first = new CountDownLatch(1);
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Flow.Subscription subscription;
+    private volatile Throwable error;
+
+    private Sink(final long initial) {
+      this.initial = initial;
+    }
+
+    private void request(final long n) {
+      this.subscription.request(n);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(this.initial);
+    }
+
+    @Override
+    public void onNext(final T item) {
+      this.items.add(item);
+      this.first.countDown();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      this.error = throwable;
+      this.done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      this.done.countDown();
+    }
+  }
+}